@@ -2,12 +2,18 @@ package nl.hva.ewa.regenwormen.controller;
 
 import nl.hva.ewa.regenwormen.domain.Game;
 import nl.hva.ewa.regenwormen.domain.Player;
+import nl.hva.ewa.regenwormen.domain.dto.OddsView;
+import nl.hva.ewa.regenwormen.domain.dto.PlayerActionDto;
 import nl.hva.ewa.regenwormen.domain.dto.PlayersLeaderboardView;
+import nl.hva.ewa.regenwormen.domain.dto.TurnDeadline;
 import nl.hva.ewa.regenwormen.repository.GameRepository;
+import nl.hva.ewa.regenwormen.service.GameEventPublisher;
 import nl.hva.ewa.regenwormen.service.InGameService;
+import nl.hva.ewa.regenwormen.service.PresenceService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.stereotype.Controller;
 import org.springframework.context.annotation.Lazy;
 
@@ -17,55 +23,54 @@ import java.util.Map;
 @Controller
 public class GameWebSocketController {
 
-    private final SimpMessagingTemplate messagingTemplate;
     private final GameRepository gameRepo;
     private final InGameService inGameService; // ✅ for reading timer data
+    private final PresenceService presence;
+    private final GameEventPublisher events;
 
     @Autowired
     public GameWebSocketController(
-            SimpMessagingTemplate messagingTemplate,
             GameRepository gameRepo,
-            @Lazy InGameService inGameService
+            @Lazy InGameService inGameService,
+            @Lazy PresenceService presence,
+            GameEventPublisher events
     ) {
-        this.messagingTemplate = messagingTemplate;
         this.gameRepo = gameRepo;
         this.inGameService = inGameService;
+        this.presence = presence;
+        this.events = events;
     }
 
     // -------------------- 🧩 Sync full game state --------------------
-    @MessageMapping("/sync") // frontend sends to /app/sync
-    public void syncGame(String gameId) {
+    // Frontend sends to /app/sync (on connect or after a gap); only the asking client gets the full snapshot
+    @MessageMapping("/sync")
+    public void syncGame(String gameId, @Header(SimpMessageHeaderAccessor.SESSION_ID_HEADER) String sessionId) {
         Game game = gameRepo.findById(gameId).orElse(null);
-        if (game != null) {
-            messagingTemplate.convertAndSend("/topic/game/" + gameId, game);
-        }
+        if (game == null) return;
+
+        events.sendSnapshot(sessionId, game.getSnapshot());
     }
 
     // -------------------- 🔁 Broadcast game update --------------------
+    // Inside a command (see GameEventPublisher#batch) the state goes out once, when the command is done
     public void broadcastGameUpdate(String gameId) {
-        Game game = gameRepo.findById(gameId).orElse(null);
-        if (game != null) {
-            messagingTemplate.convertAndSend("/topic/game/" + gameId, game);
-        }
+        events.publishState(gameId);
     }
 
-    // -------------------- ⏳ Broadcast live timer updates --------------------
-    public void broadcastTimer(String gameId, String player, int timeLeft) {
-        messagingTemplate.convertAndSend(
-                "/topic/game/" + gameId + "/timer",
-                Map.of(
-                        "player", player,
-                        "timeLeft", timeLeft
-                )
-        );
+    // -------------------- ⏳ Broadcast turn deadline --------------------
+    // Once per turn start or reset; clients count down locally
+    public void broadcastTimer(String gameId, TurnDeadline deadline) {
+        events.publish(gameId, "timer", deadline);
+    }
+
+    // -------------------- 📈 Broadcast win probabilities --------------------
+    public void broadcastOdds(String gameId, OddsView odds) {
+        events.publish(gameId, "odds", odds);
     }
 
     // -------------------- 💬 Broadcast short system message --------------------
     public void broadcastSystemMessage(String gameId, String message) {
-        messagingTemplate.convertAndSend(
-                "/topic/game/" + gameId + "/message",
-                Map.of("text", message)
-        );
+        events.publish(gameId, "message", Map.of("text", message));
     }
 
     // -------------------- 🔁 Force timer sync on reconnect --------------------
@@ -77,36 +82,36 @@ public class GameWebSocketController {
         Player current = game.getCurrentPlayer();
         if (current == null) return;
 
-        // ✅ Get actual remaining time from InGameService
-        int remaining = inGameService.getRemainingTime(gameId);
-        if (remaining <= 0) remaining = 10; // fallback default
-
-        messagingTemplate.convertAndSend(
-                "/topic/game/" + gameId + "/timer",
-                Map.of(
-                        "player", current.getName(),
-                        "timeLeft", remaining
-                )
-        );
+        // ✅ The running deadline; none while a bot plays or between turns
+        TurnDeadline deadline = inGameService.getTurnDeadline(gameId);
+        broadcastTimer(gameId, deadline != null ? deadline : TurnDeadline.none(current.getName()));
+    }
+
+    // -------------------- 💓 Presence (lobby and game) --------------------
+    @MessageMapping("/heartbeat")
+    public void heartbeat(PlayerActionDto action) {
+        presence.seen(action.getGameId(), action.getPlayerId());
+    }
+
+    @MessageMapping("/disconnect")
+    public void disconnect(PlayerActionDto action) {
+        presence.disconnected(action.getGameId(), action.getPlayerId());
+    }
+
+    // secondsLeft 0 = back (or gone): the game is no longer waiting for this player
+    public void broadcastDisconnectCountdown(String gameId, String player, int secondsLeft) {
+        events.publish(gameId, "disconnect", Map.of("player", player, "secondsLeft", secondsLeft));
     }
 
     // -------------------- 🚨 Broadcast turn timeout event --------------------
     public void broadcastTurnTimeout(String gameId, String player) {
-        messagingTemplate.convertAndSend(
-                "/topic/game/" + gameId + "/turnTimeout",
-                Map.of("player", player, "reset", true)
-        );
+        events.publish(gameId, "turnTimeout", Map.of("player", player, "reset", true));
     }
 
     public void sendGameEnded(Game game, String winnerId, List<PlayersLeaderboardView> leaderboard) {
-        messagingTemplate.convertAndSend(
-                "/topic/game/" + game.getId() + "/ended",
-                Map.of(
-                        "winnerId", winnerId,
-                        "leaderboard", leaderboard
-                )
-        );
+        events.publish(game.getId(), "ended", Map.of(
+                "winnerId", winnerId,
+                "leaderboard", leaderboard
+        ));
     }
-
-
 }
@@ -7,11 +7,14 @@ import nl.hva.ewa.regenwormen.domain.dto.LobbyPlayer;
 import nl.hva.ewa.regenwormen.repository.GameRepository;
 import nl.hva.ewa.regenwormen.repository.LobbyRepository;
 import nl.hva.ewa.regenwormen.repository.PlayerRepository;
+import nl.hva.ewa.regenwormen.scheduling.TimingWheel;
+import nl.hva.ewa.regenwormen.service.BotService;
 import nl.hva.ewa.regenwormen.service.InGameService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/lobbies")
@@ -22,6 +25,8 @@ public class LobbyController {
     private final PlayerRepository playerRepo;
     private final LobbyWebSocketController lobbyWs;
     private final InGameService inGameService;
+    private final BotService botService;
+    private final TimingWheel timers;
 
     @Autowired
     public LobbyController(
@@ -29,13 +34,17 @@ public class LobbyController {
             GameRepository gameRepo,
             PlayerRepository playerRepo,
             LobbyWebSocketController lobbyWs,
-            InGameService inGameService
+            InGameService inGameService,
+            BotService botService,
+            TimingWheel timers
     ) {
         this.lobbyRepo = lobbyRepo;
         this.gameRepo = gameRepo;
         this.playerRepo = playerRepo;
         this.lobbyWs = lobbyWs;
         this.inGameService = inGameService;
+        this.botService = botService;
+        this.timers = timers;
     }
 
     // ----------- BASIC LOBBY ACTIONS -----------
@@ -83,10 +92,7 @@ public class LobbyController {
         }
 
         // ✅ Ensure backend Player exists in repository (for /ingame lookups)
-        Player backendPlayer = playerRepo.findAll().stream()
-                .filter(p -> p.getName().equals(lobbyPlayer.getUsername()))
-                .findFirst()
-                .orElse(null);
+        Player backendPlayer = playerRepo.findByName(lobbyPlayer.getUsername()).orElse(null);
 
         if (backendPlayer == null) {
             backendPlayer = new Player(lobbyPlayer.getUsername());
@@ -119,7 +125,8 @@ public class LobbyController {
     // ----------- MANUAL GAME START -----------
 
     @PostMapping("/{id}/start")
-    public Lobby startGame(@PathVariable int id) {
+    public Lobby startGame(@PathVariable int id,
+                           @RequestParam(defaultValue = "false") boolean fillWithBots) {
         Lobby lobby = lobbyRepo.findById(id);
         if (lobby == null) throw new IllegalArgumentException("Lobby not found");
         if (!lobby.allReady()) throw new IllegalStateException("Not all players are ready");
@@ -129,10 +136,7 @@ public class LobbyController {
         Game game = new Game(lobby.getName(), lobby.getMaxPlayers());
 
         lobby.getPlayers().forEach(lp -> {
-            Player found = playerRepo.findAll().stream()
-                    .filter(p -> p.getName().equals(lp.getUsername()))
-                    .findFirst()
-                    .orElse(null);
+            Player found = playerRepo.findByName(lp.getUsername()).orElse(null);
 
             if (found != null) {
                 try {
@@ -142,30 +146,27 @@ public class LobbyController {
             }
         });
 
+        // 🤖 Optionally fill the remaining seats with bots
+        if (fillWithBots) {
+            int bots = botService.fillEmptySeats(game);
+            System.out.println("🤖 Added " + bots + " bots to lobby " + lobby.getId());
+        }
+
         // ✅ Start the game
         game.startGame();
 
         // ✅ Save it
+        game.commit();
         gameRepo.save(game);
 
         lobby.setGameId(game.getId());
         lobby.setGameStarted(true);
 
-        System.out.println("🚀 Game manually started for lobby " + lobby.getId()
-                + " → " + game.getId()
-                + " with " + game.getPlayers().size() + " players");
-
         // 🕒 Start timer for first player (after a short delay to allow clients to connect)
         if (!game.getPlayers().isEmpty()) {
             Player firstPlayer = game.getPlayers().get(0);
-            new Thread(() -> {
-                try {
-                    Thread.sleep(1000); // wait 1s to let clients connect
-                    inGameService.startInitialTurnTimer(game, firstPlayer);
-                } catch (Exception e) {
-                    e.printStackTrace();
-                }
-            }).start();
+            // wait 1s to let clients connect
+            timers.schedule(() -> inGameService.startInitialTurnTimer(game, firstPlayer), 1, TimeUnit.SECONDS);
         }
 
         // 🔔 Broadcast that the game started so clients redirect
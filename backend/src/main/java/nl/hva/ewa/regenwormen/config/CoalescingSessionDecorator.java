@@ -0,0 +1,210 @@
+package nl.hva.ewa.regenwormen.config;
+
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import nl.hva.ewa.regenwormen.scheduling.Timeout;
+import nl.hva.ewa.regenwormen.scheduling.TimingWheel;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+/**
+ * Outbound buffer of one WebSocket session that keeps only the newest game state.
+ * <p>
+ * Sending never blocks the caller (the broker's outbound thread): frames are queued and written by
+ * one flush at a time on {@code flusher}. A queued game-state frame ({@code /topic/game/{id}}) is
+ * replaced in place when a newer one for the same subscription arrives, so a client that falls behind
+ * gets the latest snapshot instead of every one in between. When the queue outgrows the buffer limit
+ * the session is closed as not reliable (the STOMP handler does that on
+ * {@link SessionLimitExceededException}). A write that takes longer than the time limit is caught by
+ * a timer running next to it, so a client that stalls is cut off even when nothing else is sent.
+ */
+@Slf4j
+class CoalescingSessionDecorator extends WebSocketSessionDecorator {
+
+    private static final Pattern GAME_STATE = Pattern.compile("/topic/game/[^/]+");
+
+    private final long sendTimeLimitMillis;
+    private final int bufferSizeLimit;
+    private final Executor flusher;
+    private final TimingWheel timers;
+    private final Counter coalesced;
+    private final Counter slowConsumers;
+    private final LongSupplier clock;
+
+    private final Object lock = new Object();
+    private final ArrayDeque<Frame> queue = new ArrayDeque<>();
+    private final Map<String, Frame> queuedState = new HashMap<>();
+    private int bufferSize;
+    private boolean flushing;
+    private boolean limitExceeded;
+    /** Writes started so far; tells the timer of a write whether that write is still the running one */
+    private long writes;
+    /** When the running write started, 0 when none runs */
+    private volatile long sendStart;
+
+    CoalescingSessionDecorator(WebSocketSession delegate, long sendTimeLimitMillis, int bufferSizeLimit,
+                               Executor flusher, TimingWheel timers, Counter coalesced, Counter slowConsumers) {
+        this(delegate, sendTimeLimitMillis, bufferSizeLimit, flusher, timers, coalesced, slowConsumers,
+                System::currentTimeMillis);
+    }
+
+    CoalescingSessionDecorator(WebSocketSession delegate, long sendTimeLimitMillis, int bufferSizeLimit,
+                               Executor flusher, TimingWheel timers, Counter coalesced, Counter slowConsumers,
+                               LongSupplier clock) {
+        super(delegate);
+        this.sendTimeLimitMillis = sendTimeLimitMillis;
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.flusher = flusher;
+        this.timers = timers;
+        this.coalesced = coalesced;
+        this.slowConsumers = slowConsumers;
+        this.clock = clock;
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        String key = stateKey(message);
+        synchronized (lock) {
+            if (limitExceeded || !isOpen()) return;
+
+            Frame queued = key != null ? queuedState.get(key) : null;
+            if (queued != null) {
+                bufferSize += message.getPayloadLength() - queued.message.getPayloadLength();
+                queued.message = message;
+                coalesced.increment();
+            } else {
+                Frame frame = new Frame(key, message);
+                queue.add(frame);
+                if (key != null) queuedState.put(key, frame);
+                bufferSize += message.getPayloadLength();
+            }
+
+            checkLimits();
+            if (flushing) return;
+            flushing = true;
+        }
+        flusher.execute(this::flush);
+    }
+
+    /** Under {@link #lock} */
+    private void checkLimits() throws SessionLimitExceededException {
+        long started = sendStart;
+        long sending = started != 0 ? clock.getAsLong() - started : 0;
+        String reason = null;
+        if (sending > sendTimeLimitMillis) {
+            reason = "Send time %d ms exceeded the limit of %d ms".formatted(sending, sendTimeLimitMillis);
+        } else if (bufferSize > bufferSizeLimit) {
+            reason = "Buffer size %d bytes exceeded the limit of %d bytes".formatted(bufferSize, bufferSizeLimit);
+        }
+        if (reason == null) return;
+
+        cutOff(reason);
+        throw new SessionLimitExceededException(reason, CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    /** Under {@link #lock}: drops everything queued, nothing is sent anymore */
+    private void cutOff(String reason) {
+        limitExceeded = true;
+        queue.clear();
+        queuedState.clear();
+        bufferSize = 0;
+        slowConsumers.increment();
+        log.info("🐢 Slow WebSocket client {}: {}", getId(), reason);
+    }
+
+    /** Timer of a write: still running after the time limit, so the client is closed as not reliable */
+    private void sendTimedOut(long write) {
+        synchronized (lock) {
+            if (limitExceeded || sendStart == 0 || writes != write) return;
+            cutOff("Send took longer than the limit of %d ms".formatted(sendTimeLimitMillis));
+        }
+        // closing may block on the stuck write as well: not on the timer's threads
+        flusher.execute(() -> {
+            try {
+                getDelegate().close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (IOException | RuntimeException e) {
+                log.debug("Closing slow WebSocket client {} failed: {}", getId(), e.getMessage());
+            }
+        });
+    }
+
+    private void flush() {
+        while (true) {
+            WebSocketMessage<?> message;
+            long write;
+            synchronized (lock) {
+                Frame frame = queue.poll();
+                if (frame == null || limitExceeded) {
+                    flushing = false;
+                    return;
+                }
+                if (frame.key != null) queuedState.remove(frame.key);
+                bufferSize -= frame.message.getPayloadLength();
+                message = frame.message;
+                sendStart = clock.getAsLong();
+                write = ++writes;
+            }
+            Timeout timer = null;
+            try {
+                timer = timers.schedule(() -> sendTimedOut(write), sendTimeLimitMillis, TimeUnit.MILLISECONDS);
+                getDelegate().sendMessage(message);
+            } catch (IOException | RuntimeException e) {
+                log.debug("WebSocket send to {} failed: {}", getId(), e.getMessage());
+                synchronized (lock) {
+                    queue.clear();
+                    queuedState.clear();
+                    bufferSize = 0;
+                    flushing = false;
+                }
+                return;
+            } finally {
+                sendStart = 0;
+                if (timer != null) timer.cancel();
+            }
+        }
+    }
+
+    /** Destination plus subscription of a game-state MESSAGE frame, null for any other frame */
+    static String stateKey(WebSocketMessage<?> message) {
+        if (!(message instanceof TextMessage text)) return null;
+        String payload = text.getPayload();
+        if (!payload.startsWith("MESSAGE\n")) return null;
+
+        String destination = null;
+        String subscription = null;
+        int start = payload.indexOf('\n') + 1;
+        while (start < payload.length()) {
+            int end = payload.indexOf('\n', start);
+            if (end < 0 || end == start) break;
+            String header = payload.substring(start, end);
+            if (header.startsWith("destination:")) destination = header.substring("destination:".length());
+            else if (header.startsWith("subscription:")) subscription = header.substring("subscription:".length());
+            start = end + 1;
+        }
+        if (destination == null || !GAME_STATE.matcher(destination).matches()) return null;
+        return destination + "|" + subscription;
+    }
+
+    private static final class Frame {
+        private final String key;
+        private WebSocketMessage<?> message;
+
+        Frame(String key, WebSocketMessage<?> message) {
+            this.key = key;
+            this.message = message;
+        }
+    }
+}
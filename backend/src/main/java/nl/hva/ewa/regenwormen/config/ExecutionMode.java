@@ -0,0 +1,45 @@
+package nl.hva.ewa.regenwormen.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Where blocking work runs, switched with {@code spring.threads.virtual.enabled} (off unless set to true).
+ * Spring Boot applies the switch to Tomcat's request threads and its own task executor/scheduler;
+ * this class applies it to the executors of the game itself (mailboxes, timer tasks) and
+ * {@link WebSocketConfig} to the STOMP channels.
+ * <ul>
+ *     <li>virtual – a new virtual thread per task, so slow requests never exhaust a pool</li>
+ *     <li>platform – fixed pools of daemon threads, as before</li>
+ * </ul>
+ */
+@Component
+public class ExecutionMode {
+
+    private final boolean virtual;
+
+    public ExecutionMode(@Value("${spring.threads.virtual.enabled:false}") boolean virtual) {
+        this.virtual = virtual;
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * Executor for game tasks; in platform mode a fixed pool of {@code platformThreads}.
+     * Threads are named {@code name-0}, {@code name-1}, ...
+     */
+    public ExecutorService newExecutor(String name, int platformThreads) {
+        if (virtual) {
+            ThreadFactory factory = Thread.ofVirtual().name(name + "-", 0).factory();
+            return Executors.newThreadPerTaskExecutor(factory);
+        }
+        ThreadFactory factory = Thread.ofPlatform().name(name + "-", 0).daemon().factory();
+        return Executors.newFixedThreadPool(platformThreads, factory);
+    }
+}
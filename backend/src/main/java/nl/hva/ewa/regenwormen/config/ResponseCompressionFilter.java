@@ -0,0 +1,145 @@
+package nl.hva.ewa.regenwormen.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzips REST answers (history, user and error-report lists, game state) for clients that accept it.
+ * <p>
+ * The answer is buffered, then compressed at {@code level} when it is at least {@code minSize} bytes
+ * of a compressible type; smaller ones go out as they are, since gzip would save little and still cost
+ * CPU. A strong ETag becomes weak: the bytes differ, the version does not. The WebSocket endpoint (SockJS
+ * streams there) and uploaded images are left alone. Brotli is not in the JDK, so gzip only.
+ * <p>
+ * Metrics: {@code regenwormen.http.compression.bytes.in} (before), {@code ...bytes.saved} and
+ * {@code ...time} (compressing is pure CPU, so its duration is the CPU spent).
+ */
+@Component
+public class ResponseCompressionFilter extends OncePerRequestFilter {
+
+    private static final List<String> SKIPPED_PATHS = List.of("/ws", "/uploads");
+
+    private final boolean enabled;
+    private final int minSize;
+    private final int level;
+    private final List<MediaType> mimeTypes;
+    private final Counter bytesIn;
+    private final Counter bytesSaved;
+    private final Timer time;
+
+    public ResponseCompressionFilter(MeterRegistry meters,
+                                     @Value("${regenwormen.compression.enabled:true}") boolean enabled,
+                                     @Value("${regenwormen.compression.min-response-size-bytes:1024}") int minSize,
+                                     @Value("${regenwormen.compression.level:5}") int level,
+                                     @Value("${regenwormen.compression.mime-types:application/json,application/cbor,text/plain,text/html}")
+                                     List<String> mimeTypes) {
+        this.enabled = enabled;
+        this.minSize = minSize;
+        this.level = level;
+        this.mimeTypes = mimeTypes.stream().map(MediaType::parseMediaType).toList();
+        this.bytesIn = Counter.builder("regenwormen.http.compression.bytes.in")
+                .description("Size of REST answers before compression")
+                .baseUnit("bytes")
+                .register(meters);
+        this.bytesSaved = Counter.builder("regenwormen.http.compression.bytes.saved")
+                .description("Bytes compression took off REST answers")
+                .baseUnit("bytes")
+                .register(meters);
+        this.time = Timer.builder("regenwormen.http.compression.time")
+                .description("Time spent gzipping REST answers")
+                .register(meters);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || !acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) return true;
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return SKIPPED_PATHS.stream().anyMatch(path::startsWith);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, buffered);
+
+        byte[] body = buffered.getContentAsByteArray();
+        if (!compressible(buffered, body.length)) {
+            buffered.copyBodyToResponse();
+            return;
+        }
+
+        long start = System.nanoTime();
+        byte[] gzipped = gzip(body);
+        time.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (gzipped.length >= body.length) {
+            buffered.copyBodyToResponse();
+            return;
+        }
+        bytesIn.increment(body.length);
+        bytesSaved.increment(body.length - gzipped.length);
+
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        String etag = response.getHeader(HttpHeaders.ETAG);
+        if (etag != null && !etag.startsWith("W/")) response.setHeader(HttpHeaders.ETAG, "W/" + etag);
+        response.setContentLength(gzipped.length);
+        response.getOutputStream().write(gzipped);
+    }
+
+    private boolean compressible(HttpServletResponse response, int size) {
+        int status = response.getStatus();
+        if (size < minSize || status < 200 || status >= 300 || status == 206) return false;
+        if (response.getHeader(HttpHeaders.CONTENT_ENCODING) != null) return false;
+        String type = response.getContentType();
+        if (type == null) return false;
+        MediaType mediaType = MediaType.parseMediaType(type);
+        return mimeTypes.stream().anyMatch(mime -> mime.includes(mediaType));
+    }
+
+    private byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(level);
+            }
+        }) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    /** gzip listed (or *) without q=0 */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) continue;
+            boolean refused = false;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim().replace(" ", "");
+                if (param.matches("q=0(\\.0*)?")) refused = true;
+            }
+            if (!refused) return true;
+        }
+        return false;
+    }
+}
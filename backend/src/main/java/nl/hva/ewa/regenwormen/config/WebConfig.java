@@ -1,5 +1,7 @@
 package nl.hva.ewa.regenwormen.config;
 
+import nl.hva.ewa.regenwormen.domain.dto.GameSnapshotModule;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
@@ -8,6 +10,12 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    // Picked up by Spring Boot's ObjectMapper (REST and STOMP): snapshots are written without reflection
+    @Bean
+    GameSnapshotModule gameSnapshotModule() {
+        return new GameSnapshotModule();
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
@@ -18,6 +26,7 @@ public class WebConfig implements WebMvcConfigurer {
                 )
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS")
                 .allowedHeaders("*")
+                .exposedHeaders("ETag")   // game version after a command, see InGameController
                 .allowCredentials(true);
     }
 
@@ -1,27 +1,120 @@
 package nl.hva.ewa.regenwormen.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import nl.hva.ewa.regenwormen.scheduling.TimingWheel;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.server.HandshakeHandler;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private static final String PERMESSAGE_DEFLATE = "permessage-deflate";
+
+    private final ExecutionMode executionMode;
+    private final int sendTimeLimitMs;
+    private final int sendBufferSizeLimit;
+    private final Counter coalescedFrames;
+    private final Counter slowConsumers;
+    private final ExecutorService flusher;
+    private final TimingWheel timers;
+    private final boolean perMessageDeflate;
+
+    public WebSocketConfig(ExecutionMode executionMode,
+                           MeterRegistry meters,
+                           TimingWheel timers,
+                           @Value("${regenwormen.ws.send-time-limit-ms:5000}") int sendTimeLimitMs,
+                           @Value("${regenwormen.ws.send-buffer-size-kb:256}") int sendBufferSizeKb,
+                           @Value("${regenwormen.ws.permessage-deflate:true}") boolean perMessageDeflate) {
+        this.executionMode = executionMode;
+        this.perMessageDeflate = perMessageDeflate;
+        this.sendTimeLimitMs = sendTimeLimitMs;
+        this.sendBufferSizeLimit = sendBufferSizeKb * 1024;
+        this.coalescedFrames = Counter.builder("regenwormen.ws.frames.coalesced")
+                .description("Queued game-state frames replaced by a newer one before they were sent")
+                .register(meters);
+        this.slowConsumers = Counter.builder("regenwormen.ws.slow.consumers")
+                .description("WebSocket sessions closed for exceeding the send time or buffer limit")
+                .register(meters);
+        // A write blocks as long as the client takes: virtual threads in both modes, so stalled
+        // clients never use up a pool that the others are waiting on
+        this.flusher = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ws-send-", 0).factory());
+        this.timers = timers;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        // Clients subscribe to these topics (broadcast channels)
-        config.enableSimpleBroker("/topic");
+        // Clients subscribe to these topics (broadcast channels); /queue for replies to one client (/user/queue/...)
+        config.enableSimpleBroker("/topic", "/queue");
         // Clients send messages to these endpoints
         config.setApplicationDestinationPrefixes("/app");
+        // Unbounded virtual executors may run two messages for one session at once: keep their order
+        if (executionMode.isVirtual()) config.setPreservePublishOrder(true);
+    }
+
+    // 🧵 In virtual mode the STOMP channels get a virtual thread per message instead of a fixed pool
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        if (executionMode.isVirtual()) registration.executor(executionMode.newExecutor("stomp-in", 0));
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        if (executionMode.isVirtual()) registration.executor(executionMode.newExecutor("stomp-out", 0));
+    }
+
+    // 🐢 One slow client must not hold up the others: bounded per-session sends, newest game state only
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimitMs);
+        registration.setSendBufferSizeLimit(sendBufferSizeLimit);
+        registration.addDecoratorFactory(handler -> new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                super.afterConnectionEstablished(new CoalescingSessionDecorator(session,
+                        sendTimeLimitMs, sendBufferSizeLimit, flusher, timers, coalescedFrames, slowConsumers));
+            }
+        });
+    }
+
+    // 🗜️ Tomcat agrees to permessage-deflate whenever the browser offers it (its own level, no size
+    // threshold); switched off, the offer is dropped from the handshake and frames go uncompressed
+    private HandshakeHandler handshakeHandler() {
+        if (perMessageDeflate) return new DefaultHandshakeHandler();
+        return new DefaultHandshakeHandler() {
+            @Override
+            protected List<WebSocketExtension> filterRequestedExtensions(ServerHttpRequest request,
+                                                                         List<WebSocketExtension> requested,
+                                                                         List<WebSocketExtension> supported) {
+                return super.filterRequestedExtensions(request, requested, supported).stream()
+                        .filter(extension -> !PERMESSAGE_DEFLATE.equals(extension.getName()))
+                        .toList();
+            }
+        };
     }
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         // WebSocket endpoint for frontend to connect
         registry.addEndpoint("/ws")
+               .setHandshakeHandler(handshakeHandler())
                .setAllowedOriginPatterns(
     "http://localhost:*",
     "https://*.vercel.app",
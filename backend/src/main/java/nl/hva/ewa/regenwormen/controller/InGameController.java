@@ -1,104 +1,206 @@
 package nl.hva.ewa.regenwormen.controller;
 
 import nl.hva.ewa.regenwormen.domain.Enum.DiceFace;
-import nl.hva.ewa.regenwormen.domain.Game;
 import nl.hva.ewa.regenwormen.domain.TilesPot;
 import nl.hva.ewa.regenwormen.domain.dto.EndTurnView;
+import nl.hva.ewa.regenwormen.domain.dto.GameSnapshot;
+import nl.hva.ewa.regenwormen.domain.dto.HintView;
 import nl.hva.ewa.regenwormen.domain.dto.TurnView;
+import nl.hva.ewa.regenwormen.domain.dto.Versioned;
+import nl.hva.ewa.regenwormen.service.GamePayloadCache;
+import nl.hva.ewa.regenwormen.service.IdempotencyCache;
 import nl.hva.ewa.regenwormen.service.InGameService;
+import nl.hva.ewa.regenwormen.service.PresenceService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.function.Supplier;
+
 @Slf4j
 @RestController
 @RequestMapping("/ingame")
 public class InGameController {
 
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final InGameService service;
+    private final IdempotencyCache idempotency;
+    private final PresenceService presence;
+    private final GamePayloadCache payloads;
 
     @Autowired
-    public InGameController(InGameService service) {
+    public InGameController(InGameService service, IdempotencyCache idempotency, PresenceService presence,
+                            GamePayloadCache payloads) {
         this.service = service;
+        this.idempotency = idempotency;
+        this.presence = presence;
+        this.payloads = payloads;
     }
 
     // -------------------- 🧩 Get full game state --------------------
-    @GetMapping("/{gameId}")
-    public ResponseEntity<Game> getGameState(@PathVariable String gameId) {
-        Game game = service.getGameById(gameId);
-        if (game == null) {
+    // Same JSON as the broadcasts, written once per version; If-None-Match with the current version gets 304.
+    // Clients that send Accept: application/cbor get the same snapshot as CBOR.
+    @GetMapping(value = "/{gameId}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<byte[]> getGameState(@PathVariable String gameId,
+                                               @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        GameSnapshot snapshot = service.getSnapshot(gameId);
+        if (snapshot == null) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(game);
+        boolean cbor = wantsCbor(accept);
+        return ResponseEntity.ok()
+                .eTag(Long.toString(snapshot.version()))
+                .varyBy(HttpHeaders.ACCEPT)
+                .contentType(cbor ? MediaType.APPLICATION_CBOR : MediaType.APPLICATION_JSON)
+                .body(cbor ? payloads.cbor(snapshot) : payloads.json(snapshot));
+    }
+
+    /** CBOR only when asked for by name: JSON stays the default, also for wildcard Accept headers */
+    private static boolean wantsCbor(String accept) {
+        if (accept == null || accept.isBlank()) return false;
+        try {
+            return MediaType.parseMediaTypes(accept).stream()
+                    .anyMatch(type -> type.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR) && type.getQualityValue() > 0);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    // -------------------- 💡 Hint for the current turn --------------------
+    @GetMapping("/{gameId}/hint/{username}")
+    public HintView getHint(@PathVariable String gameId, @PathVariable String username) {
+        return service.getHint(gameId, username);
+    }
+
+    // -------------------- 🔢 Versions --------------------
+    // Commands may send If-Match with the game version they were made for; a stale one gets 409.
+    // Every command answers with the version it left behind as ETag, read on the mailbox right after it ran.
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) return null;
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) tag = tag.substring(2);
+        try {
+            return Long.parseLong(tag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "If-Match must be a game version");
+        }
+    }
+
+    // -------------------- 🔁 Idempotency-Key --------------------
+    // A retried command with the same key gets the original answer and ETag; the game is not touched again
+    private <T> ResponseEntity<T> once(String gameId, String key, String request, Supplier<T> command) {
+        Versioned<T> result = idempotency.execute(gameId, key, request, () -> service.versioned(gameId, command));
+        return ResponseEntity.ok().eTag(Long.toString(result.version())).body(result.body());
     }
 
     // -------------------- ROUND 0 --------------------
     @PostMapping("/{gameId}/startroll0/{username}")
-    public TurnView startAndRollRoundZero(@PathVariable String gameId, @PathVariable String username) {
-        return service.startAndRollRoundZero(gameId, username);
+    public ResponseEntity<TurnView> startAndRollRoundZero(@PathVariable String gameId,
+                                                          @PathVariable String username,
+                                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                          @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return once(gameId, idempotencyKey, "startroll0/" + username,
+                () -> service.startAndRollRoundZero(gameId, username, expectedVersion(ifMatch)));
     }
 
     @PostMapping("/{gameId}/pickdice0/{username}")
-    public TurnView pickDiceFaceZero(@PathVariable String gameId,
-                                     @PathVariable String username,
-                                     @RequestBody DiceFace diceFace) {
-        return service.pickDiceFaceZero(gameId, username, diceFace);
+    public ResponseEntity<TurnView> pickDiceFaceZero(@PathVariable String gameId,
+                                                     @PathVariable String username,
+                                                     @RequestBody DiceFace diceFace,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                     @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return once(gameId, idempotencyKey, "pickdice0/" + username + "/" + diceFace,
+                () -> service.pickDiceFaceZero(gameId, username, diceFace, expectedVersion(ifMatch)));
     }
 
     @PostMapping("/{gameId}/reroll0/{username}")
-    public TurnView reRollZero(@PathVariable String gameId, @PathVariable String username) {
-        return service.reRollZero(gameId, username);
+    public ResponseEntity<TurnView> reRollZero(@PathVariable String gameId,
+                                               @PathVariable String username,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                               @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return once(gameId, idempotencyKey, "reroll0/" + username,
+                () -> service.reRollZero(gameId, username, expectedVersion(ifMatch)));
     }
 
     @PostMapping("/{gameId}/finishround0/{username}")
-    public EndTurnView finishRoundZero(@PathVariable String gameId, @PathVariable String username) {
-        return service.finishRoundZero(gameId, username);
+    public ResponseEntity<EndTurnView> finishRoundZero(@PathVariable String gameId,
+                                                       @PathVariable String username,
+                                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                       @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return once(gameId, idempotencyKey, "finishround0/" + username,
+                () -> service.finishRoundZero(gameId, username, expectedVersion(ifMatch)));
     }
 
     // -------------------- NORMAL ROUNDS (>= 1) --------------------
     @PostMapping("/{gameId}/startroll/{username}")
-    public TurnView startAndRollRound(@PathVariable String gameId, @PathVariable String username) {
-        return service.startAndRollRound(gameId, username);
+    public ResponseEntity<TurnView> startAndRollRound(@PathVariable String gameId,
+                                                      @PathVariable String username,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                      @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return once(gameId, idempotencyKey, "startroll/" + username,
+                () -> service.startAndRollRound(gameId, username, expectedVersion(ifMatch)));
     }
 
     @PostMapping("/{gameId}/pickdice/{username}")
-    public TurnView pickDiceFace(@PathVariable String gameId,
-                                 @PathVariable String username,
-                                 @RequestBody DiceFace diceFace) {
-        return service.pickDiceFace(gameId, username, diceFace);
+    public ResponseEntity<TurnView> pickDiceFace(@PathVariable String gameId,
+                                                 @PathVariable String username,
+                                                 @RequestBody DiceFace diceFace,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                 @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return once(gameId, idempotencyKey, "pickdice/" + username + "/" + diceFace,
+                () -> service.pickDiceFace(gameId, username, diceFace, expectedVersion(ifMatch)));
     }
 
     @PostMapping("/{gameId}/reroll/{username}")
-    public TurnView reRollRound(@PathVariable String gameId, @PathVariable String username) {
-        return service.reRoll(gameId, username);
+    public ResponseEntity<TurnView> reRollRound(@PathVariable String gameId,
+                                                @PathVariable String username,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return once(gameId, idempotencyKey, "reroll/" + username,
+                () -> service.reRoll(gameId, username, expectedVersion(ifMatch)));
     }
 
     @PostMapping("/{gameId}/finishround/{username}")
-    public EndTurnView finishRound(@PathVariable String gameId, @PathVariable String username) {
-        return service.finishRound(gameId, username);
+    public ResponseEntity<EndTurnView> finishRound(@PathVariable String gameId,
+                                                   @PathVariable String username,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                   @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return once(gameId, idempotencyKey, "finishround/" + username,
+                () -> service.finishRound(gameId, username, expectedVersion(ifMatch)));
     }
 
     // -------------------- TILE CLAIMING --------------------
     @PostMapping("/{gameId}/claimfrompot/{username}")
-    public ResponseEntity<Game> claimFromPot(
+    public ResponseEntity<GameSnapshot> claimFromPot(
             @PathVariable String gameId,
             @PathVariable String username,
-            @RequestBody int tileValue
+            @RequestBody int tileValue,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey
     ) {
         log.info("🟦 CLAIM TILE from pot | user={} | tile={}", username, tileValue);
 
-        Game updated = service.claimTileFromPot(gameId, username, tileValue);
-        return ResponseEntity.ok(updated);
+        GameSnapshot updated = idempotency.execute(gameId, idempotencyKey, "claim/" + username + "/" + tileValue,
+                () -> service.claimTileFromPot(gameId, username, tileValue, expectedVersion(ifMatch)));
+        return ResponseEntity.ok().eTag(Long.toString(updated.version())).body(updated);
     }
 
     // -------------------- TILE STEALING --------------------
     @PostMapping("/{gameId}/stealFromPlayer/{username}")
-    public TilesPot stealTopTileFromPlayer(@PathVariable String gameId,
-                                           @PathVariable String username,
-                                           @RequestBody String victimId) {
-        return service.stealTopTileFromPlayer(gameId, username, victimId);
+    public ResponseEntity<TilesPot> stealTopTileFromPlayer(@PathVariable String gameId,
+                                                           @PathVariable String username,
+                                                           @RequestBody String victimId,
+                                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                           @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return once(gameId, idempotencyKey, "steal/" + username + "/" + victimId,
+                () -> service.stealTopTileFromPlayer(gameId, username, victimId, expectedVersion(ifMatch)));
     }
     // -------------------- 🔌 DISCONNECT & LEAVE SECTION --------------------
     /**
@@ -123,15 +225,15 @@ public class InGameController {
      * Player disconnected (via sendBeacon, WebSocket close, or browser close).
      * POST /ingame/{gameId}/disconnect/{username}
      *
-     * This starts a countdown timer. If player reconnects before timeout, they can continue.
-     * If timeout expires, they are removed from the game.
+     * This starts the grace period (see PresenceService). If player reconnects before it ends, they can continue.
+     * Otherwise they are removed from the game.
      */
     @PostMapping("/{gameId}/disconnect/{username}")
     public ResponseEntity<Void> playerDisconnectByUsername(@PathVariable String gameId,
                                                            @PathVariable String username) {
         try {
             log.info("🔌 Disconnect notification received - gameId: {}, username: {}", gameId, username);
-            log.info("⏳ Disconnect countdown started for player: {}", username);
+            presence.disconnected(gameId, username);
             return ResponseEntity.noContent().build();
         } catch (Exception e) {
             log.warn("❌ Error handling disconnect: {}", e.getMessage());
@@ -143,14 +245,14 @@ public class InGameController {
      * Player reconnected successfully (via WebSocket reconnection).
      * POST /ingame/{gameId}/reconnect/{username}
      *
-     * Cancels the disconnect timeout and restarts the turn timer.
+     * Ends the grace period and marks the player connected again.
      */
     @PostMapping("/{gameId}/reconnect/{username}")
     public ResponseEntity<Void> playerReconnectByUsername(@PathVariable String gameId,
                                                           @PathVariable String username) {
         try {
             log.info("✅ Reconnect notification received - gameId: {}, username: {}", gameId, username);
-            log.info("🎮 Player successfully reconnected: {}", username);
+            presence.seen(gameId, username);
             return ResponseEntity.noContent().build();
         } catch (Exception e) {
             log.warn("❌ Error handling reconnect: {}", e.getMessage());
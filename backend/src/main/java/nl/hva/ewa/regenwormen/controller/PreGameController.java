@@ -2,8 +2,11 @@ package nl.hva.ewa.regenwormen.controller;
 
 import nl.hva.ewa.regenwormen.domain.Game;
 import nl.hva.ewa.regenwormen.domain.dto.CreateGameRequest;
+import nl.hva.ewa.regenwormen.service.BotService;
 import nl.hva.ewa.regenwormen.service.PreGameService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -15,10 +18,18 @@ import java.util.Map;
 public class PreGameController {
 
     private final PreGameService service;
+    private final BotService botService;
+    private final boolean clientSeeds;
+    private final boolean botGames;
 
     @Autowired
-    public PreGameController(PreGameService service) {
+    public PreGameController(PreGameService service, BotService botService,
+                             @Value("${regenwormen.dice.client-seeds:false}") boolean clientSeeds,
+                             @Value("${regenwormen.bots.games-enabled:false}") boolean botGames) {
         this.service = service;
+        this.botService = botService;
+        this.clientSeeds = clientSeeds;
+        this.botGames = botGames;
     }
 
     @GetMapping("/games")
@@ -45,9 +56,11 @@ public class PreGameController {
 
 
     @PostMapping("/{id}/start")
-    public ResponseEntity<?> start(@PathVariable String id) {
+    public ResponseEntity<?> start(@PathVariable String id,
+                                   @RequestParam(required = false) Long seed) {
+        if (seed != null && !clientSeeds) return seedRefused();
         try {
-            Game started = service.startGameByIdOrLobby(id);
+            Game started = service.startGameByIdOrLobby(id, seed);
             return ResponseEntity.ok(started);
         } catch (IllegalStateException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -56,6 +69,26 @@ public class PreGameController {
         }
     }
 
+    // 🤖 Game with only bots (load and balance testing); off unless regenwormen.bots.games-enabled
+    @PostMapping("/bots")
+    public ResponseEntity<?> startBotGame(@RequestParam(defaultValue = "4") int players,
+                                          @RequestParam(required = false) Long seed) {
+        if (!botGames) return ResponseEntity.notFound().build();
+        if (seed != null && !clientSeeds) return seedRefused();
+        try {
+            Game started = botService.startBotGame(players, seed);
+            return ResponseEntity.ok(started.getSnapshot());
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // 🎲 Whoever picks the seed knows every roll: only for tests and replays (regenwormen.dice.client-seeds)
+    private static ResponseEntity<?> seedRefused() {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(Map.of("error", "Dice seeds can only be chosen in test setups"));
+    }
+
     // ✅ NEW ENDPOINTS
     @PostMapping("/{gameId}/join/{playerId}")
     public ResponseEntity<Game> join(@PathVariable String gameId, @PathVariable String playerId) {
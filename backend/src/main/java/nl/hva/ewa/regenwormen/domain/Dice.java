@@ -2,16 +2,22 @@ package nl.hva.ewa.regenwormen.domain;
 
 import nl.hva.ewa.regenwormen.domain.Enum.DiceFace;
 
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 public class Dice {
     private DiceFace diceState ;
     private int points;
     private boolean taken = false;
 
-    public static final Random RANDOM = new Random();
+    private final RandomGenerator random;
 
     public Dice () {
+        this(new SplittableRandom());
+    }
+
+    public Dice (RandomGenerator random) {
+        this.random = random;
         this.roll();
     }
 
@@ -21,7 +27,7 @@ public class Dice {
 
     public void roll() {
         if(taken){throw new IllegalStateException("Dice is already taken");}
-        int eyes = RANDOM.nextInt(6) + 1;
+        int eyes = random.nextInt(6) + 1;
         this.diceState = DiceFace.fromInt(eyes);
         this.points = diceState.getPoints();
     }
@@ -4,27 +4,69 @@ import nl.hva.ewa.regenwormen.domain.Enum.DiceFace;
 import nl.hva.ewa.regenwormen.domain.Enum.TurnState;
 
 import java.util.*;
-import java.util.function.Function;
-import java.util.stream.Collectors;
-
+import java.util.random.RandomGenerator;
+
+/**
+ * Dice state of a single turn.
+ * The 8 dice are not kept as objects: the turn only needs to know how many dice are left,
+ * what the last roll showed per face and which faces are locked. All of that fits in a few
+ * ints and bitmasks (bit = {@link DiceFace#ordinal()}), so rolling, picking and the score
+ * queries never allocate.
+ */
 public class Diceroll {
-    private static final int AMOUNT_DICES = 8;
+    public static final int AMOUNT_DICES = 8;
+
+    private static final DiceFace[] FACES = DiceFace.values();
+    private static final int FACE_COUNT = FACES.length;
+    private static final int ALL_FACES_MASK = (1 << FACE_COUNT) - 1;
+    private static final int SPECIAL_BIT = 1 << DiceFace.SPECIAL.ordinal();
+
+    /** Immutable face lists/sets per mask, so the list getters can hand out shared instances */
+    private static final List<List<DiceFace>> FACE_LISTS = new ArrayList<>(ALL_FACES_MASK + 1);
+    private static final List<Set<DiceFace>> FACE_SETS = new ArrayList<>(ALL_FACES_MASK + 1);
+
+    static {
+        for (int mask = 0; mask <= ALL_FACES_MASK; mask++) {
+            List<DiceFace> faces = new ArrayList<>(FACE_COUNT);
+            for (DiceFace face : FACES) {
+                if ((mask & bit(face)) != 0) faces.add(face);
+            }
+            FACE_LISTS.add(List.copyOf(faces));
+            FACE_SETS.add(faces.isEmpty()
+                    ? Collections.emptySet()
+                    : Collections.unmodifiableSet(EnumSet.copyOf(faces)));
+        }
+    }
 
     private TurnState turnState = TurnState.CAN_ROLL;
     private boolean hasSpecial = false;
     private boolean busted = false;
 
-    /** All 8 dice for the turn */
-    private final List<Dice> dices = new ArrayList<>(AMOUNT_DICES);
-    /** The dice from the most recent roll (subset of dices that are not taken) */
-    private List<Dice> lastRoll = new ArrayList<>();
+    /** Random source of the game this turn belongs to */
+    private RandomGenerator random;
+
+    /** Dice not taken yet (these are rolled on the next throw) */
+    private int remainingDice = AMOUNT_DICES;
+    /** Sum of the points of all taken dice */
+    private int takenScore = 0;
+    /** Per face ordinal: how many dice showed that face in the most recent roll */
+    private final int[] faceCounts = new int[FACE_COUNT];
+    /** Faces that appeared in the most recent roll */
+    private int rolledMask = 0;
     /** Faces already chosen (locked) in this turn */
-    private final Set<DiceFace> chosen = EnumSet.noneOf(DiceFace.class);
+    private int chosenMask = 0;
 
     public Diceroll() {
-        for (int i = 0; i < AMOUNT_DICES; i++) {
-            dices.add(new Dice());
-        }
+        this(new SplittableRandom());
+    }
+
+    public Diceroll(RandomGenerator random) {
+        if (random == null) throw new IllegalArgumentException("Random source cannot be null");
+        this.random = random;
+    }
+
+    private static int bit(DiceFace face) {
+        return 1 << face.ordinal();
     }
 
     // --- GETTERS / STATE ---
@@ -34,71 +76,79 @@ public class Diceroll {
 
     /** Faces already chosen in this turn */
     public Set<DiceFace> getChosenFaces() {
-        return EnumSet.copyOf(chosen);
+        return FACE_SETS.get(chosenMask);
     }
 
     /** Count of the last roll (what actually appeared) */
     public Map<DiceFace, Long> getFullThrow() {
-        return lastRoll.stream()
-                .map(Dice::getDiceState)
-                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        return countsFor(rolledMask);
     }
 
     /** Returns only pickable (not already chosen) dice counts */
     public Map<DiceFace, Long> getOptionCounts() {
-        return lastRoll.stream()
-                .map(Dice::getDiceState)
-                .filter(face -> !chosen.contains(face))
-                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        return countsFor(pickableMask());
     }
 
     /** Pickable faces THIS roll (rolled AND not chosen yet) */
     public List<DiceFace> getPickableFaces() {
-        return lastRoll.stream()
-                .map(Dice::getDiceState)
-                .filter(face -> !chosen.contains(face))
-                .distinct()
-                .toList();
+        return FACE_LISTS.get(pickableMask());
     }
 
     /** Faces that were rolled but disabled (already chosen earlier in turn) */
     public List<DiceFace> getDisabledFaces() {
-        return lastRoll.stream()
-                .map(Dice::getDiceState)
-                .filter(chosen::contains)
-                .distinct()
-                .toList();
+        return FACE_LISTS.get(rolledMask & chosenMask);
     }
 
     public int getTakenScore() {
-        return dices.stream()
-                .filter(Dice::isTaken)
-                .mapToInt(Dice::getPoints)
-                .sum();
+        return takenScore;
     }
 
     public int getRemainingDiceCount() {
-        return (int) dices.stream().filter(d -> !d.isTaken()).count();
+        return remainingDice;
+    }
+
+    /** How many dice of the last roll show {@code face} */
+    public int countOf(DiceFace face) {
+        return faceCounts[face.ordinal()];
+    }
+
+    /** Faces chosen (locked) this turn, bit = {@link DiceFace#ordinal()} */
+    public int chosenMask() {
+        return chosenMask;
+    }
+
+    /** Whether {@code face} was already chosen (locked) this turn */
+    public boolean isChosen(DiceFace face) {
+        return (chosenMask & bit(face)) != 0;
     }
 
     // --- INTERNAL HELPERS ---
-    private void requireAlive() {
-        if (turnState == TurnState.ENDED) {
-            throw new IllegalStateException("Turn already ended.");
+    private int pickableMask() {
+        return rolledMask & ~chosenMask;
+    }
+
+    private Map<DiceFace, Long> countsFor(int mask) {
+        Map<DiceFace, Long> counts = new EnumMap<>(DiceFace.class);
+        for (DiceFace face : FACES) {
+            if ((mask & bit(face)) != 0) counts.put(face, (long) faceCounts[face.ordinal()]);
         }
+        return counts;
     }
 
-    private boolean hasUntakenDice() {
-        return dices.stream().anyMatch(d -> !d.isTaken());
+    private void clearLastRoll() {
+        Arrays.fill(faceCounts, 0);
+        rolledMask = 0;
     }
 
-    private boolean hasUnchosenFacesRemainingOverall() {
-        // If you already chose all possible faces, you can’t continue
-        return chosen.size() < DiceFace.values().length;
+    private void requireAlive() {
+        if (turnState == TurnState.ENDED) {
+            throw new IllegalStateException("Turn already ended.");
+        }
     }
 
     private boolean canRollPreCheck() {
-        return hasUntakenDice() && hasUnchosenFacesRemainingOverall();
+        // If you already chose all possible faces, you can’t continue
+        return remainingDice > 0 && chosenMask != ALL_FACES_MASK;
     }
 
     // --- MAIN API USED BY GAME ---
@@ -114,30 +164,27 @@ public class Diceroll {
         if (!canRollPreCheck()) {
             busted = true;
             turnState = TurnState.ENDED;
-            lastRoll = List.of();
+            clearLastRoll();
             return List.of();
         }
 
         // 🎲 Roll all untaken dice
-        List<Dice> current = new ArrayList<>();
-        for (Dice d : dices) {
-            if (!d.isTaken()) {
-                d.roll();
-                current.add(d);
-            }
+        clearLastRoll();
+        for (int i = 0; i < remainingDice; i++) {
+            int ordinal = random.nextInt(FACE_COUNT);
+            faceCounts[ordinal]++;
+            rolledMask |= 1 << ordinal;
         }
-        lastRoll = current;
 
         // 🧩 Determine pickable faces
-        List<DiceFace> options = getPickableFaces();
-        if (options.isEmpty()) {
+        if (pickableMask() == 0) {
             busted = true;
             turnState = TurnState.ENDED;
             return List.of();
         }
 
         turnState = TurnState.MUST_PICK;
-        return options;
+        return getPickableFaces();
     }
 
     /**
@@ -150,27 +197,24 @@ public class Diceroll {
         if (turnState != TurnState.MUST_PICK) {
             throw new IllegalArgumentException("Roll before picking a dice face.");
         }
-        if (chosen.contains(face)) {
+        int faceBit = bit(face);
+        if ((chosenMask & faceBit) != 0) {
             throw new IllegalStateException("Already picked " + face + " earlier this turn.");
         }
 
-        int kept = 0;
-        for (Dice d : lastRoll) {
-            if (d.getDiceState() == face) {
-                d.take();
-                kept++;
-            }
-        }
+        int kept = faceCounts[face.ordinal()];
         if (kept == 0) {
             throw new IllegalStateException("Chosen face " + face + " was not rolled.");
         }
 
-        if (face == DiceFace.SPECIAL) {
+        remainingDice -= kept;
+        takenScore += kept * face.getPoints();
+        if (faceBit == SPECIAL_BIT) {
             hasSpecial = true;
         }
 
-        chosen.add(face);
-        lastRoll = new ArrayList<>(); // clear after choosing
+        chosenMask |= faceBit;
+        clearLastRoll(); // clear after choosing
 
         // ✅ You can roll again if there are dice left and faces left to choose
         if (canRollPreCheck()) {
@@ -182,6 +226,6 @@ public class Diceroll {
             }
         }
 
-        return getTakenScore();
+        return takenScore;
     }
 }
@@ -1,5 +1,6 @@
 package nl.hva.ewa.regenwormen.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import nl.hva.ewa.regenwormen.domain.Enum.DiceFace;
 import nl.hva.ewa.regenwormen.domain.Enum.GameState;
 import nl.hva.ewa.regenwormen.domain.dto.*;
@@ -8,6 +9,9 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 public class Game {
     private final String id;
@@ -22,6 +26,13 @@ public class Game {
     private int currentPlayersTurnIndex;
     private int maxPlayers;
 
+    /** Seed of this game's dice; the same seed and the same commands replay the same game */
+    private long seed;
+    private RandomGenerator random;
+
+    /** Last committed state, what readers get to see */
+    private volatile GameSnapshot snapshot;
+
     private static final int MIN_PLAYERS = 2;
     private static final int MAX_PLAYERS = 8;
     private static final int MAX_NAME_LENGTH = 16;
@@ -33,6 +44,7 @@ public class Game {
         this.players = new ArrayList<>();
         this.currentPlayersTurnIndex = 0;
         this.gameState = GameState.PRE_GAME;
+        this.snapshot = GameSnapshot.of(this, 0);
     }
 
     // === GETTERS ===
@@ -44,10 +56,29 @@ public class Game {
     public int playersAmount() { return players.size(); }
     public int getTurnIndex() { return currentPlayersTurnIndex; }
     public GameState getGameState() { return gameState; }
+    public int getRound() { return round; }
+    public long getVersion() { return snapshot.version(); }
     public List<PlayersLeaderboardView> getLeaderboard() {
         return leaderboard;
     }
+    // Never sent to clients: knowing the seed means knowing every future roll
+    @JsonIgnore
+    public long getSeed() { return seed; }
+
+
+    /** Latest committed snapshot; safe to read and serialize from any thread */
+    @JsonIgnore
+    public GameSnapshot getSnapshot() { return snapshot; }
 
+    /**
+     * Publishes the current state as a new immutable snapshot with the next version.
+     * Called by the thread that just finished a command on this game.
+     */
+    public GameSnapshot commit() {
+        GameSnapshot next = GameSnapshot.of(this, snapshot.version() + 1);
+        snapshot = next;
+        return next;
+    }
 
     // === SETTERS ===
     public void setGameName(String gameName) { setGameNameInternal(gameName); }
@@ -97,6 +128,14 @@ public class Game {
     }
 
     public void startGame() {
+        startGame(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Starts the game with a fixed dice seed (deterministic mode).
+     * Replaying the same commands on a game started with a recorded seed reproduces it exactly.
+     */
+    public void startGame(long seed) {
         if (gameState != GameState.PRE_GAME)
             throw new IllegalStateException("Game already started/ended");
         if (playersAmount() < MIN_PLAYERS)
@@ -107,6 +146,8 @@ public class Game {
         gameState = GameState.PLAYING;
         tilesPot = new TilesPot();
         round = 1;
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
     }
 
     // === ROUND ZERO ===
@@ -161,7 +202,7 @@ public class Game {
             if (options.isEmpty() && !existingRoll.getBusted()) {
                 // Stale turn - reset and start fresh
                 p.setEndTurn();
-                p.setStartTurn(new Diceroll());
+                p.setStartTurn(new Diceroll(random));
                 List<DiceFace> freshOptions = p.getDiceRoll().rollRemainingDice();
                 return TurnView.turnViewThrown(p, freshOptions, hasMinValueToStop(p.getDiceRoll().getTakenScore()));
             } else {
@@ -171,7 +212,7 @@ public class Game {
         }
 
         // Otherwise start a new turn
-        p.setStartTurn(new Diceroll());
+        p.setStartTurn(new Diceroll(random));
         List<DiceFace> options = p.getDiceRoll().rollRemainingDice();
         return TurnView.turnViewThrown(p, options, hasMinValueToStop(p.getDiceRoll().getTakenScore()));
     }
@@ -198,7 +239,7 @@ public class Game {
 
     public List<DiceFace> throwDices(Player player) {
         if (player.getDiceRoll() == null) {
-            player.setStartTurn(new Diceroll());
+            player.setStartTurn(new Diceroll(random));
         }
         return player.getDiceRoll().rollRemainingDice();
     }
@@ -375,8 +416,11 @@ public class Game {
 
         int score = roll.getTakenScore();
         List<Integer> claimablePot = new ArrayList<>();
-        for (Tile t : tilesPot.getAvailableTiles())
-            if (score >= t.getValue()) claimablePot.add(t.getValue());
+        Tile highestClaimable = tilesPot.findHighestAvailableTileAtOrBelow(score);
+        if (highestClaimable != null) {
+            for (int value = tilesPot.getLowestAvailableTileValue(); value <= highestClaimable.getValue(); value++)
+                if (tilesPot.isAvailable(value)) claimablePot.add(value);
+        }
 
         List<StealOptions> steals = new ArrayList<>();
         for (Player victim : players) {
@@ -428,13 +472,12 @@ public class Game {
     }
 
     public boolean hasMinValueToStop(int points) {
-        int lowestPot = tilesPot.getLowestAvailableTileValue();
-        List<Integer> topTileValues = new ArrayList<>();
+        if (points >= tilesPot.getLowestAvailableTileValue()) return true;
         for (Player p : players) {
             Tile t = p.getTopTile();
-            if (t != null) topTileValues.add(t.getValue());
+            if (t != null && t.getValue() == points) return true;
         }
-        return points >= lowestPot || topTileValues.contains(points);
+        return false;
     }
 
     // === FORCE SKIP SUPPORT ===
@@ -3,6 +3,7 @@ package nl.hva.ewa.regenwormen.domain;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 
@@ -16,8 +17,12 @@ public class Player {
     private List<Tile> ownedTiles = new ArrayList<>();
     private Diceroll turn;
     private int doublePointsTile = -1;
+    /** Running worm total of ownedTiles (doubled tile included), kept up to date on every change */
+    private int points = 0;
     private static final int MAX_NAME_LENGTH = 16;
     private PlayerStatus status = PlayerStatus.CONNECTED;
+    /** Seat played by the server (see BotService) instead of a client */
+    private boolean bot = false;
 
     public Player(String name) {
         setPlayerNameInternal(name);
@@ -31,18 +36,27 @@ public class Player {
         this.userId = userId;
     }
 
+    /** Server-controlled player, for empty seats and load tests */
+    public static Player bot(String name) {
+        Player player = new Player(name);
+        player.bot = true;
+        return player;
+    }
+
     public String getId() { return id; }
     public String getName() { return name; }
     public String getUser() { return userId; }
     public Diceroll getDiceRoll() { return turn; }
     public int getDoublePointsTile() { return doublePointsTile; }
     public PlayerStatus getStatus() { return status; }
+    public boolean isBot() { return bot; }
 
     public int getPoints() {
-        return ownedTiles.stream()
-                .filter(t -> t.getOwner() == this.getId())
-                .mapToInt(t -> (t.getValue() == doublePointsTile) ? t.getPoints() * 2 : t.getPoints())
-                .sum();
+        return points;
+    }
+
+    private int wormsOf(Tile tile) {
+        return (tile.getValue() == doublePointsTile) ? tile.getPoints() * 2 : tile.getPoints();
     }
 
     public Tile getTopTile() {
@@ -51,7 +65,14 @@ public class Player {
     }
 
     public void setName(String name) { setPlayerNameInternal(name); }
-    public void setDoublePointsTile(int value) { doublePointsTile = value; }
+    public void setDoublePointsTile(int value) {
+        // move the bonus from the old doubled tile (if owned) to the new one (if owned)
+        for (Tile t : ownedTiles) {
+            if (t.getValue() == doublePointsTile) points -= t.getPoints();
+            if (t.getValue() == value) points += t.getPoints();
+        }
+        doublePointsTile = value;
+    }
     public void setStatus(PlayerStatus status) {
         this.status = status;
         log.info("Player {} status set to {}", name, status);
@@ -68,12 +89,14 @@ public class Player {
         if (tile == null) throw new IllegalArgumentException("missing tile");
         tile.takeTile(this);
         ownedTiles.add(tile);
+        points += wormsOf(tile);
     }
 
     public void loseTopTileToStack() {
         Tile topTile = getTopTile();
         if (topTile == null) throw new IllegalStateException("No tiles owned");
-        ownedTiles.remove(topTile);
+        ownedTiles.remove(ownedTiles.size() - 1);
+        points -= wormsOf(topTile);
     }
 
     private void setPlayerNameInternal(String playerName) {
@@ -95,6 +118,7 @@ public class Player {
         returnAllTilesToPot();
         this.turn = null;
         this.doublePointsTile = -1;
+        this.points = 0;
     }
 
     @Override
@@ -113,8 +137,8 @@ public class Player {
     public Tile jsonTopTile() { return getTopTile(); }
 
     @JsonIgnore
-    public List<Tile> getOwnedTiles() { return ownedTiles; }
+    public List<Tile> getOwnedTiles() { return Collections.unmodifiableList(ownedTiles); }
 
     @JsonProperty("tiles")
-    public List<Tile> jsonTiles() { return ownedTiles; }
+    public List<Tile> jsonTiles() { return getOwnedTiles(); }
 }
@@ -12,6 +12,8 @@ public class Tile {
     private boolean flipped;
     private TileState state;
     private String ownerPlayerId;
+    /** Pot this tile belongs to; kept informed so its availability masks stay in sync */
+    private TilesPot pot;
 
     private static final int MIN_VALUE = 21;
     private static final int MAX_VALUE = 36;
@@ -34,11 +36,14 @@ public class Tile {
     public TileState getState() { return state; }
     public String getOwner() { return ownerPlayerId; }
 
+    void attachToPot(TilesPot pot) { this.pot = pot; }
+
     // --- Tile actions ---
     public void flip() {
         if (flipped) return;
         tileToPot();
         flipped = true;
+        notifyPot();
     }
 
     public void takeTile(Player player) {
@@ -46,16 +51,23 @@ public class Tile {
         if (flipped) throw new IllegalStateException("Cannot take a flipped tile");
         state = TileState.OWNED;
         ownerPlayerId = player.getId();
+        notifyPot();
     }
 
     public void tileToPot() {
         if (state != TileState.OWNED) return;
         ownerPlayerId = null;
         state = TileState.IN_POT;
+        notifyPot();
+    }
+
+    private void notifyPot() {
+        if (pot != null) pot.tileChanged(this);
     }
 
     // --- Worm points logic ---
-    private int calculatePoints(int value) {
+    /** Worms on the tile with this value */
+    public static int calculatePoints(int value) {
         if (value <= 24) return 1;
         if (value <= 28) return 2;
         if (value <= 32) return 3;
@@ -1,73 +1,113 @@
 package nl.hva.ewa.regenwormen.domain;
 
+import nl.hva.ewa.regenwormen.domain.Enum.TileState;
+
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 
+/**
+ * The 16 tiles (21–36) of a game.
+ * Next to the {@link Tile} objects (used as JSON view) the pot keeps one bit per tile
+ * (bit 0 = tile 21 … bit 15 = tile 36) for owned, flipped and available tiles.
+ * The tiles report their own state changes back, so every lookup below is a few bit operations.
+ */
 public class TilesPot {
-    private final List<Tile> tiles = new ArrayList<>();
-
     private static final int MIN_VALUE = 21;
     private static final int MAX_VALUE = 36;
+    private static final int TILE_COUNT = MAX_VALUE - MIN_VALUE + 1;
+    private static final int ALL_TILES_MASK = (1 << TILE_COUNT) - 1;
+
+    private final Tile[] tiles = new Tile[TILE_COUNT];
+    private List<Tile> tileView = List.of();
+
+    private int ownedMask;
+    private int flippedMask;
+    private int availableMask;
 
     public TilesPot() {
         createTiles();
     }
 
     private void createTiles() {
-        if (!tiles.isEmpty()) return;
-        for (int i = MIN_VALUE; i <= MAX_VALUE; i++) {
-            tiles.add(new Tile(i));
+        for (int i = 0; i < TILE_COUNT; i++) {
+            Tile tile = new Tile(MIN_VALUE + i);
+            tile.attachToPot(this);
+            tiles[i] = tile;
         }
+        tileView = List.of(tiles);
+        ownedMask = 0;
+        flippedMask = 0;
+        availableMask = ALL_TILES_MASK;
+    }
+
+    private static int bit(int value) {
+        return 1 << (value - MIN_VALUE);
+    }
+
+    private static boolean inRange(int value) {
+        return value >= MIN_VALUE && value <= MAX_VALUE;
+    }
+
+    /** Called by a tile of this pot after its state changed */
+    void tileChanged(Tile tile) {
+        int bit = bit(tile.getValue());
+        ownedMask = tile.getState() == TileState.OWNED ? ownedMask | bit : ownedMask & ~bit;
+        flippedMask = tile.isFlipped() ? flippedMask | bit : flippedMask & ~bit;
+        availableMask = ALL_TILES_MASK & ~(ownedMask | flippedMask);
+    }
+
+    private Tile highestIn(int mask) {
+        if (mask == 0) return null;
+        return tiles[31 - Integer.numberOfLeadingZeros(mask)];
+    }
+
+    private Tile lowestIn(int mask) {
+        if (mask == 0) return null;
+        return tiles[Integer.numberOfTrailingZeros(mask)];
+    }
+
+    /** Available tiles with a value of at most {@code score} */
+    private int availableAtOrBelow(int score) {
+        if (score < MIN_VALUE) return 0;
+        if (score >= MAX_VALUE) return availableMask;
+        return availableMask & ((bit(score) << 1) - 1);
     }
 
     public List<Tile> getTiles() {
-        return Collections.unmodifiableList(tiles);
+        return tileView;
+    }
+
+    /** Bitmask of the tiles still available in the pot (bit 0 = tile 21) */
+    public int availableMask() {
+        return availableMask;
+    }
+
+    public boolean isAvailable(int value) {
+        return inRange(value) && (availableMask & bit(value)) != 0;
     }
 
     public Tile findTileByValue(int value) {
-        for (Tile t : tiles) {
-            if (t.getValue() == value) return t;
-        }
-        return null;
+        return inRange(value) ? tiles[value - MIN_VALUE] : null;
     }
 
     public Tile findAvailableTileByScore(int score) {
-        List<Tile> availableTiles = getAvailableTiles();
-        availableTiles.sort(Comparator.comparingInt(Tile::getValue).reversed());
-        for (Tile tile : availableTiles) {
-            if (tile.getValue() <= score) {
-                return tile;
-            }
-        }
-        return null;
+        return highestIn(availableAtOrBelow(score));
     }
 
     public List<Tile> getAvailableTiles() {
-        List<Tile> available = new ArrayList<>();
-        for (Tile t : tiles) {
-            if (t.isAvailableInPot()) {
-                available.add(t);
-            }
+        List<Tile> available = new ArrayList<>(amountAvailableTiles());
+        for (int mask = availableMask; mask != 0; mask &= mask - 1) {
+            available.add(tiles[Integer.numberOfTrailingZeros(mask)]);
         }
         return available;
     }
 
     public int amountAvailableTiles() {
-        return getAvailableTiles().size();
+        return Integer.bitCount(availableMask);
     }
 
     public Tile getHighestAvailableTile() {
-        Tile highest = null;
-        for (Tile t : tiles) {
-            if (t.isAvailableInPot()) {
-                if (highest == null || t.getValue() > highest.getValue()) {
-                    highest = t;
-                }
-            }
-        }
-        return highest;
+        return highestIn(availableMask);
     }
 
     public int getHighestAvailableTileValue() {
@@ -83,15 +123,7 @@ public class TilesPot {
     }
 
     public Tile getLowestAvailableTile() {
-        Tile lowest = null;
-        for (Tile t : tiles) {
-            if (t.isAvailableInPot()) {
-                if (lowest == null || t.getValue() < lowest.getValue()) {
-                    lowest = t;
-                }
-            }
-        }
-        return lowest;
+        return lowestIn(availableMask);
     }
 
     public int getLowestAvailableTileValue() {
@@ -101,21 +133,15 @@ public class TilesPot {
 
     // 🧩 Used by Game.claimFromPot() – finds the best available tile ≤ score
     public Tile findHighestAvailableTileAtOrBelow(int score) {
-        return getAvailableTiles().stream()
-                .filter(t -> t.getValue() <= score)
-                .max(Comparator.comparingInt(Tile::getValue))
-                .orElse(null);
+        return highestIn(availableAtOrBelow(score));
     }
 
     public void resetTiles() {
-        tiles.clear();
+        for (Tile tile : tiles) tile.attachToPot(null);
         createTiles();
     }
 
     public Tile findExactTile(int value) {
-        return tiles.stream()
-                .filter(t -> t.getValue() == value && t.isAvailableInPot())
-                .findFirst()
-                .orElse(null);
+        return isAvailable(value) ? tiles[value - MIN_VALUE] : null;
     }
 }
@@ -0,0 +1,83 @@
+package nl.hva.ewa.regenwormen.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import nl.hva.ewa.regenwormen.domain.dto.GameSnapshot.DiceSnapshot;
+import nl.hva.ewa.regenwormen.domain.dto.GameSnapshot.PlayerSnapshot;
+import nl.hva.ewa.regenwormen.domain.dto.GameSnapshot.TileSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * What changed between two snapshots of a game, broadcast instead of the whole game.
+ * <p>
+ * {@code seq} is the version the delta leads to and {@code base} the version it applies to; a client
+ * that is not at {@code base} missed something and asks for a full snapshot ({@code /app/sync}).
+ * Only changed fields are sent: players whose stack, points or status changed (whole), the pot tiles
+ * that changed state, the current player's dice after a roll or pick, and the turn, round and
+ * leaderboard when they moved. {@code playerOrder} is only there when players joined or left.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record GameDelta(
+        long seq,
+        long base,
+        String id,
+        Integer round,
+        Integer turnIndex,
+        List<PlayerSnapshot> players,
+        List<String> playerOrder,
+        List<TileSnapshot> tiles,
+        List<PlayersLeaderboardView> leaderboard,
+        DiceSnapshot dice
+) {
+
+    /**
+     * The delta from {@code from} to {@code to}; null when only a full snapshot will do (first
+     * broadcast, game started or ended, pot appeared).
+     */
+    public static GameDelta between(GameSnapshot from, GameSnapshot to) {
+        if (from == null || from.version() >= to.version()) return null;
+        if (from.gameState() != to.gameState()) return null;
+        if ((from.tilesPot() == null) != (to.tilesPot() == null)) return null;
+
+        List<TileSnapshot> tiles = null;
+        if (to.tilesPot() != null) {
+            List<TileSnapshot> before = from.tilesPot().tiles();
+            List<TileSnapshot> after = to.tilesPot().tiles();
+            if (before.size() != after.size()) return null;
+            tiles = new ArrayList<>();
+            for (int i = 0; i < after.size(); i++) {
+                if (!after.get(i).equals(before.get(i))) tiles.add(after.get(i));
+            }
+        }
+
+        Map<String, PlayerSnapshot> previous = from.players().stream()
+                .collect(Collectors.toMap(PlayerSnapshot::id, Function.identity()));
+        List<PlayerSnapshot> players = new ArrayList<>();
+        for (PlayerSnapshot player : to.players()) {
+            if (!player.equals(previous.get(player.id()))) players.add(player);
+        }
+        List<String> order = ids(to.players());
+
+        return new GameDelta(
+                to.version(),
+                from.version(),
+                to.id(),
+                to.round() != from.round() ? to.round() : null,
+                to.turnIndex() != from.turnIndex() ? to.turnIndex() : null,
+                players.isEmpty() ? null : players,
+                order.equals(ids(from.players())) ? null : order,
+                tiles == null || tiles.isEmpty() ? null : tiles,
+                Objects.equals(to.leaderboard(), from.leaderboard()) ? null : to.leaderboard(),
+                Objects.equals(to.dice(), from.dice()) ? null : to.dice()
+        );
+    }
+
+    private static List<String> ids(List<PlayerSnapshot> players) {
+        return players.stream().map(PlayerSnapshot::id).toList();
+    }
+}
@@ -0,0 +1,13 @@
+package nl.hva.ewa.regenwormen.domain.dto;
+
+import java.util.List;
+
+/**
+ * Everything one command broadcast for a game, in order, as one frame on {@code /topic/game/{id}/batch}.
+ * {@code type} names the topic the event would have had on its own ({@code state} for the game itself,
+ * {@code timer}, {@code message}, {@code turnTimeout}, ...).
+ */
+public record GameEvents(List<GameEvent> events) {
+
+    public record GameEvent(String type, Object body) {}
+}
@@ -0,0 +1,129 @@
+package nl.hva.ewa.regenwormen.domain.dto;
+
+import nl.hva.ewa.regenwormen.domain.Diceroll;
+import nl.hva.ewa.regenwormen.domain.Enum.DiceFace;
+import nl.hva.ewa.regenwormen.domain.Enum.GameState;
+import nl.hva.ewa.regenwormen.domain.Enum.TileState;
+import nl.hva.ewa.regenwormen.domain.Game;
+import nl.hva.ewa.regenwormen.domain.Player;
+import nl.hva.ewa.regenwormen.domain.Tile;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable copy of a game as it was after a committed command.
+ * Readers (REST, /app/sync, broadcasts) serialize this instead of the live Game,
+ * so they never see a half-applied command. Same JSON field names as Game.
+ */
+public record GameSnapshot(
+        long version,                       // bumped by every commit
+        String id,
+        String gameName,
+        int maxPlayers,
+        GameState gameState,
+        int round,
+        int turnIndex,
+        List<PlayerSnapshot> players,
+        PotSnapshot tilesPot,               // null before the game started
+        List<PlayersLeaderboardView> leaderboard,
+        DiceSnapshot dice                   // the current player's turn; null when no game is running
+) {
+
+    public record TileSnapshot(
+            int value,
+            int points,
+            boolean flipped,
+            TileState state,
+            String owner,
+            boolean availableInPot
+    ) {
+        static TileSnapshot of(Tile t) {
+            return new TileSnapshot(t.getValue(), t.getPoints(), t.isFlipped(), t.getState(), t.getOwner(), t.isAvailableInPot());
+        }
+    }
+
+    public record PlayerSnapshot(
+            String id,
+            String name,
+            String user,
+            Player.PlayerStatus status,
+            boolean bot,
+            int doublePointsTile,
+            int points,
+            TileSnapshot topTile,
+            List<TileSnapshot> tiles
+    ) {}
+
+    public record PotSnapshot(List<TileSnapshot> tiles) {}
+
+    public record DiceSnapshot(
+            String player,                  // id of the player whose turn it is
+            Map<DiceFace, Long> fullThrow,  // the last roll per face, empty before the first roll
+            int chosenMask,                 // faces taken this turn, bit = DiceFace ordinal
+            int takenScore,
+            int remainingDice
+    ) {
+        static DiceSnapshot of(Player p) {
+            Diceroll roll = p.getDiceRoll();
+            if (roll == null) return new DiceSnapshot(p.getId(), Map.of(), 0, 0, Diceroll.AMOUNT_DICES);
+            return new DiceSnapshot(p.getId(), Collections.unmodifiableMap(roll.getFullThrow()),
+                    roll.chosenMask(), roll.getTakenScore(), roll.getRemainingDiceCount());
+        }
+    }
+
+    /** Copy the current state of the game; must run on the thread that just changed it */
+    public static GameSnapshot of(Game game, long version) {
+        // every tile is copied once and shared between the pot and the player stacks
+        TileSnapshot[] byValue = new TileSnapshot[37];
+
+        PotSnapshot pot = null;
+        if (game.getTilesPot() != null) {
+            List<TileSnapshot> tiles = new ArrayList<>(16);
+            for (Tile t : game.getTilesPot().getTiles()) {
+                TileSnapshot copy = TileSnapshot.of(t);
+                byValue[t.getValue()] = copy;
+                tiles.add(copy);
+            }
+            pot = new PotSnapshot(List.copyOf(tiles));
+        }
+
+        List<PlayerSnapshot> players = new ArrayList<>(game.playersAmount());
+        for (Player p : game.getPlayers()) {
+            List<TileSnapshot> stack = new ArrayList<>(p.getOwnedTiles().size());
+            for (Tile t : p.getOwnedTiles()) {
+                TileSnapshot copy = byValue[t.getValue()];
+                stack.add(copy != null ? copy : TileSnapshot.of(t));
+            }
+            players.add(new PlayerSnapshot(
+                    p.getId(),
+                    p.getName(),
+                    p.getUser(),
+                    p.getStatus(),
+                    p.isBot(),
+                    p.getDoublePointsTile(),
+                    p.getPoints(),
+                    stack.isEmpty() ? null : stack.get(stack.size() - 1),
+                    List.copyOf(stack)
+            ));
+        }
+
+        List<PlayersLeaderboardView> leaderboard = game.getLeaderboard();
+        Player current = game.getGameState() == GameState.PLAYING ? game.getCurrentPlayer() : null;
+        return new GameSnapshot(
+                version,
+                game.getId(),
+                game.getGameName(),
+                game.getMaxPlayers(),
+                game.getGameState(),
+                game.getRound(),
+                game.getTurnIndex(),
+                List.copyOf(players),
+                pot,
+                leaderboard == null ? null : List.copyOf(leaderboard),
+                current == null ? null : DiceSnapshot.of(current)
+        );
+    }
+}
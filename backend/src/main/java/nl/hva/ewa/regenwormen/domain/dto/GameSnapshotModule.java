@@ -0,0 +1,225 @@
+package nl.hva.ewa.regenwormen.domain.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import nl.hva.ewa.regenwormen.domain.Enum.DiceFace;
+import nl.hva.ewa.regenwormen.domain.dto.GameSnapshot.DiceSnapshot;
+import nl.hva.ewa.regenwormen.domain.dto.GameSnapshot.PlayerSnapshot;
+import nl.hva.ewa.regenwormen.domain.dto.GameSnapshot.PotSnapshot;
+import nl.hva.ewa.regenwormen.domain.dto.GameSnapshot.TileSnapshot;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hand-written serializers for the snapshot records, written field by field in component order.
+ * <p>
+ * Every broadcast, sync and {@code GET /ingame/{id}} writes a snapshot or a delta of one; these skip
+ * Jackson's per-property lookups for the records (and all the players and tiles in them). The JSON is
+ * byte for byte what the records serialize to without the module: when a component is added to a
+ * record, add it here too (GameSnapshotModuleTest compares the two).
+ */
+public class GameSnapshotModule extends SimpleModule {
+
+    public GameSnapshotModule() {
+        super("GameSnapshotModule");
+        addSerializer(GameSnapshot.class, new SnapshotSerializer());
+        addSerializer(PlayerSnapshot.class, new PlayerSerializer());
+        addSerializer(TileSnapshot.class, new TileSerializer());
+        addSerializer(PotSnapshot.class, new PotSerializer());
+        addSerializer(PlayersLeaderboardView.class, new LeaderboardSerializer());
+        addSerializer(DiceSnapshot.class, new DiceSerializer());
+    }
+
+    // -------------------- 🧩 Game --------------------
+    private static final class SnapshotSerializer extends StdSerializer<GameSnapshot> {
+        SnapshotSerializer() {
+            super(GameSnapshot.class);
+        }
+
+        @Override
+        public void serialize(GameSnapshot game, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            gen.writeNumberField("version", game.version());
+            gen.writeStringField("id", game.id());
+            gen.writeStringField("gameName", game.gameName());
+            gen.writeNumberField("maxPlayers", game.maxPlayers());
+            writeEnum(gen, "gameState", game.gameState());
+            gen.writeNumberField("round", game.round());
+            gen.writeNumberField("turnIndex", game.turnIndex());
+            gen.writeFieldName("players");
+            writePlayers(game.players(), gen);
+            gen.writeFieldName("tilesPot");
+            if (game.tilesPot() == null) gen.writeNull();
+            else writePot(game.tilesPot(), gen);
+            gen.writeFieldName("leaderboard");
+            writeLeaderboard(game.leaderboard(), gen);
+            gen.writeFieldName("dice");
+            writeDice(game.dice(), gen);
+            gen.writeEndObject();
+        }
+    }
+
+    // -------------------- 👤 Players --------------------
+    private static final class PlayerSerializer extends StdSerializer<PlayerSnapshot> {
+        PlayerSerializer() {
+            super(PlayerSnapshot.class);
+        }
+
+        @Override
+        public void serialize(PlayerSnapshot player, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            writePlayer(player, gen);
+        }
+    }
+
+    private static void writePlayers(List<PlayerSnapshot> players, JsonGenerator gen) throws IOException {
+        if (players == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartArray();
+        for (PlayerSnapshot player : players) writePlayer(player, gen);
+        gen.writeEndArray();
+    }
+
+    private static void writePlayer(PlayerSnapshot player, JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("id", player.id());
+        gen.writeStringField("name", player.name());
+        gen.writeStringField("user", player.user());
+        writeEnum(gen, "status", player.status());
+        gen.writeBooleanField("bot", player.bot());
+        gen.writeNumberField("doublePointsTile", player.doublePointsTile());
+        gen.writeNumberField("points", player.points());
+        gen.writeFieldName("topTile");
+        writeTile(player.topTile(), gen);
+        gen.writeFieldName("tiles");
+        writeTiles(player.tiles(), gen);
+        gen.writeEndObject();
+    }
+
+    // -------------------- 🪱 Tiles --------------------
+    private static final class TileSerializer extends StdSerializer<TileSnapshot> {
+        TileSerializer() {
+            super(TileSnapshot.class);
+        }
+
+        @Override
+        public void serialize(TileSnapshot tile, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            writeTile(tile, gen);
+        }
+    }
+
+    private static final class PotSerializer extends StdSerializer<PotSnapshot> {
+        PotSerializer() {
+            super(PotSnapshot.class);
+        }
+
+        @Override
+        public void serialize(PotSnapshot pot, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            writePot(pot, gen);
+        }
+    }
+
+    private static void writePot(PotSnapshot pot, JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        gen.writeFieldName("tiles");
+        writeTiles(pot.tiles(), gen);
+        gen.writeEndObject();
+    }
+
+    private static void writeTiles(List<TileSnapshot> tiles, JsonGenerator gen) throws IOException {
+        if (tiles == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartArray();
+        for (TileSnapshot tile : tiles) writeTile(tile, gen);
+        gen.writeEndArray();
+    }
+
+    private static void writeTile(TileSnapshot tile, JsonGenerator gen) throws IOException {
+        if (tile == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject();
+        gen.writeNumberField("value", tile.value());
+        gen.writeNumberField("points", tile.points());
+        gen.writeBooleanField("flipped", tile.flipped());
+        writeEnum(gen, "state", tile.state());
+        gen.writeStringField("owner", tile.owner());
+        gen.writeBooleanField("availableInPot", tile.availableInPot());
+        gen.writeEndObject();
+    }
+
+    // -------------------- 🏆 Leaderboard --------------------
+    private static final class LeaderboardSerializer extends StdSerializer<PlayersLeaderboardView> {
+        LeaderboardSerializer() {
+            super(PlayersLeaderboardView.class);
+        }
+
+        @Override
+        public void serialize(PlayersLeaderboardView row, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            writeLeaderboardRow(row, gen);
+        }
+    }
+
+    private static void writeLeaderboard(List<PlayersLeaderboardView> rows, JsonGenerator gen) throws IOException {
+        if (rows == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartArray();
+        for (PlayersLeaderboardView row : rows) writeLeaderboardRow(row, gen);
+        gen.writeEndArray();
+    }
+
+    private static void writeLeaderboardRow(PlayersLeaderboardView row, JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("playerId", row.playerId());
+        gen.writeStringField("name", row.name());
+        gen.writeNumberField("points", row.points());
+        gen.writeNumberField("rank", row.rank());
+        gen.writeEndObject();
+    }
+
+    // -------------------- 🎲 Dice --------------------
+    private static final class DiceSerializer extends StdSerializer<DiceSnapshot> {
+        DiceSerializer() {
+            super(DiceSnapshot.class);
+        }
+
+        @Override
+        public void serialize(DiceSnapshot dice, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            writeDice(dice, gen);
+        }
+    }
+
+    private static void writeDice(DiceSnapshot dice, JsonGenerator gen) throws IOException {
+        if (dice == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject();
+        gen.writeStringField("player", dice.player());
+        gen.writeObjectFieldStart("fullThrow");
+        for (Map.Entry<DiceFace, Long> face : dice.fullThrow().entrySet()) {
+            gen.writeNumberField(face.getKey().name(), face.getValue());
+        }
+        gen.writeEndObject();
+        gen.writeNumberField("chosenMask", dice.chosenMask());
+        gen.writeNumberField("takenScore", dice.takenScore());
+        gen.writeNumberField("remainingDice", dice.remainingDice());
+        gen.writeEndObject();
+    }
+
+    private static void writeEnum(JsonGenerator gen, String field, Enum<?> value) throws IOException {
+        gen.writeFieldName(field);
+        if (value == null) gen.writeNull();
+        else gen.writeString(value.name());
+    }
+}
@@ -0,0 +1,18 @@
+package nl.hva.ewa.regenwormen.domain.dto;
+
+import nl.hva.ewa.regenwormen.domain.Enum.DiceFace;
+
+public record HintView(
+        String playerId,
+        Action action,          // what to do now
+        DiceFace face,          // face to take when action is PICK, otherwise null
+        double expectedWorms,   // expected worms of the advised action
+        double stopWorms,       // worms for stopping now (0 when that is not allowed)
+        double rollWorms        // expected worms for rolling on (0 when no dice can be rolled)
+) {
+    public enum Action { ROLL, PICK, STOP, NONE }
+
+    public static HintView none(String playerId) {
+        return new HintView(playerId, Action.NONE, null, 0, 0, 0);
+    }
+}
@@ -0,0 +1,11 @@
+package nl.hva.ewa.regenwormen.domain.dto;
+
+import java.util.List;
+
+public record OddsView(
+        long version,               // game version the estimate belongs to
+        int rollouts,               // number of simulated games behind the numbers
+        List<PlayerOdds> players    // in seat order
+) {
+    public record PlayerOdds(String playerId, String name, double winProbability) {}
+}
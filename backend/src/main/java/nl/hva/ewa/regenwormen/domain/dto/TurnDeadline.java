@@ -0,0 +1,31 @@
+package nl.hva.ewa.regenwormen.domain.dto;
+
+/**
+ * Sent once when a turn timer starts or resets; clients count down to {@code deadline} themselves.
+ * {@code serverTime} lets a client correct for its own clock: offset = serverTime - local now.
+ */
+public record TurnDeadline(
+        String player,
+        long deadline,      // epoch millis (server clock) when the turn expires, 0 when it does not
+        long serverTime,    // epoch millis (server clock) when this message was made
+        int timeLeft        // whole seconds left at serverTime, for clients that do not count themselves
+) {
+    public static TurnDeadline at(String player, long deadline) {
+        long now = System.currentTimeMillis();
+        return new TurnDeadline(player, deadline, now, secondsLeft(deadline, now));
+    }
+
+    /** A turn without a timer (a bot's turn) */
+    public static TurnDeadline none(String player) {
+        return new TurnDeadline(player, 0, System.currentTimeMillis(), 0);
+    }
+
+    /** Same deadline, seconds left as of now */
+    public TurnDeadline refreshed() {
+        return deadline == 0 ? none(player) : at(player, deadline);
+    }
+
+    private static int secondsLeft(long deadline, long now) {
+        return (int) Math.max(0, (deadline - now + 999) / 1000);
+    }
+}
@@ -17,7 +17,9 @@ public record TurnView(
         List<DiceFace> disabledFaces,       // rolled but unavailable (already chosen)
         boolean hasSpecial,
         boolean hasMinValue,
-        boolean busted
+        boolean busted,
+        double bustProbability,             // chance that rolling again busts (1 when no roll is possible)
+        double expectedGain                 // expected points the next pick adds when rolling again
 ) {
 
     /** Create TurnView for a dice throw */
@@ -32,7 +34,9 @@ public record TurnView(
                 roll.getDisabledFaces(),
                 roll.hasSpecial(),
                 hasMinValue,
-                roll.getBusted()
+                roll.getBusted(),
+                0,
+                0
         );
     }
 
@@ -48,7 +52,9 @@ public record TurnView(
                 roll.getDisabledFaces(),
                 roll.hasSpecial(),
                 hasMinValue,
-                roll.getBusted()
+                roll.getBusted(),
+                0,
+                0
         );
     }
 
@@ -63,7 +69,15 @@ public record TurnView(
                 List.of(),
                 false,
                 false,
-                true
+                true,
+                0,
+                0
         );
     }
+
+    /** Same view with the odds of rolling again (worked out by the service) */
+    public TurnView withRerollOdds(double bustProbability, double expectedGain) {
+        return new TurnView(playerId, takenScore, fullThrow, optionCounts, chosenFaces, disabledFaces,
+                hasSpecial, hasMinValue, busted, bustProbability, expectedGain);
+    }
 }
@@ -0,0 +1,5 @@
+package nl.hva.ewa.regenwormen.domain.dto;
+
+/** Answer of a command together with the game version it left behind (the ETag of the response) */
+public record Versioned<T>(T body, long version) {
+}
@@ -0,0 +1,64 @@
+package nl.hva.ewa.regenwormen.policy;
+
+import nl.hva.ewa.regenwormen.domain.Enum.DiceFace;
+
+/**
+ * Risk of the next roll, per (dice left, chosen faces): 9 × 64 entries, built once when the class loads.
+ * <ul>
+ *     <li>bust probability – no rolled face is still free</li>
+ *     <li>expected gain – points the best next pick adds (most points, as the policy would take);
+ *     a bust counts as 0</li>
+ * </ul>
+ */
+public final class BustOdds {
+    private static final int MASKS = 1 << DiceOutcomes.FACE_COUNT;
+    private static final int ALL_FACES = MASKS - 1;
+
+    private static final double[] BUST = new double[(DiceOutcomes.MAX_DICE + 1) * MASKS];
+    private static final double[] GAIN = new double[(DiceOutcomes.MAX_DICE + 1) * MASKS];
+
+    static {
+        DiceFace[] faces = DiceFace.values();
+        for (int dice = 0; dice <= DiceOutcomes.MAX_DICE; dice++) {
+            DiceOutcomes outcomes = DiceOutcomes.of(dice);
+            for (int mask = 0; mask < MASKS; mask++) {
+                int i = index(dice, mask);
+                if (dice == 0 || mask == ALL_FACES) {
+                    BUST[i] = 1;
+                    continue;
+                }
+                double bust = 0, gain = 0;
+                for (int o = 0; o < outcomes.size(); o++) {
+                    int pickable = outcomes.rolledMask(o) & ~mask;
+                    if (pickable == 0) {
+                        bust += outcomes.probability(o);
+                        continue;
+                    }
+                    int best = 0;
+                    for (DiceFace face : faces) {
+                        if ((pickable & (1 << face.ordinal())) == 0) continue;
+                        best = Math.max(best, outcomes.count(o, face.ordinal()) * face.getPoints());
+                    }
+                    gain += outcomes.probability(o) * best;
+                }
+                BUST[i] = bust;
+                GAIN[i] = gain;
+            }
+        }
+    }
+
+    private BustOdds() {
+    }
+
+    public static double bustProbability(int dice, int chosenMask) {
+        return BUST[index(dice, chosenMask)];
+    }
+
+    public static double expectedGain(int dice, int chosenMask) {
+        return GAIN[index(dice, chosenMask)];
+    }
+
+    private static int index(int dice, int chosenMask) {
+        return dice * MASKS + chosenMask;
+    }
+}
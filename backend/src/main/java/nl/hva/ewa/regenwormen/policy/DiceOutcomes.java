@@ -0,0 +1,77 @@
+package nl.hva.ewa.regenwormen.policy;
+
+import nl.hva.ewa.regenwormen.domain.Enum.DiceFace;
+
+/**
+ * Every distinct outcome of rolling {@code n} dice (0–8), as face counts with their probability.
+ * Order does not matter for the game, so 8 dice give 1287 outcomes instead of 6^8 sequences.
+ * Built once and shared by the precomputed tables.
+ */
+public final class DiceOutcomes {
+    public static final int MAX_DICE = 8;
+    public static final int FACE_COUNT = DiceFace.values().length;
+
+    private static final DiceOutcomes[] BY_DICE = new DiceOutcomes[MAX_DICE + 1];
+
+    static {
+        for (int dice = 0; dice <= MAX_DICE; dice++) BY_DICE[dice] = new DiceOutcomes(dice);
+    }
+
+    /** counts[outcome][faceOrdinal] */
+    private final int[][] counts;
+    private final double[] probabilities;
+    /** Faces that show up in the outcome, bit = face ordinal */
+    private final int[] rolledMasks;
+
+    private DiceOutcomes(int dice) {
+        int size = binomial(dice + FACE_COUNT - 1, FACE_COUNT - 1);
+        counts = new int[size][];
+        probabilities = new double[size];
+        rolledMasks = new int[size];
+        fill(dice, 0, new int[FACE_COUNT], new int[]{0});
+    }
+
+    public static DiceOutcomes of(int dice) {
+        if (dice < 0 || dice > MAX_DICE) throw new IllegalArgumentException("Dice must be between 0 and " + MAX_DICE);
+        return BY_DICE[dice];
+    }
+
+    public int size() { return counts.length; }
+    public int count(int outcome, int faceOrdinal) { return counts[outcome][faceOrdinal]; }
+    public double probability(int outcome) { return probabilities[outcome]; }
+    public int rolledMask(int outcome) { return rolledMasks[outcome]; }
+
+    private void fill(int left, int face, int[] current, int[] next) {
+        if (face == FACE_COUNT - 1) {
+            current[face] = left;
+            int outcome = next[0]++;
+            counts[outcome] = current.clone();
+            probabilities[outcome] = probabilityOf(current);
+            int mask = 0;
+            for (int f = 0; f < FACE_COUNT; f++) if (current[f] > 0) mask |= 1 << f;
+            rolledMasks[outcome] = mask;
+            return;
+        }
+        for (int c = 0; c <= left; c++) {
+            current[face] = c;
+            fill(left - c, face + 1, current, next);
+        }
+    }
+
+    /** Multinomial: n! / (c1! ... c6!) / 6^n */
+    private static double probabilityOf(int[] faceCounts) {
+        int n = 0;
+        double permutations = 1;
+        for (int c : faceCounts) {
+            for (int i = 1; i <= c; i++) permutations = permutations * (n + i) / i;
+            n += c;
+        }
+        return permutations / Math.pow(FACE_COUNT, n);
+    }
+
+    private static int binomial(int n, int k) {
+        long result = 1;
+        for (int i = 1; i <= k; i++) result = result * (n - k + i) / i;
+        return (int) result;
+    }
+}
@@ -0,0 +1,144 @@
+package nl.hva.ewa.regenwormen.policy;
+
+import nl.hva.ewa.regenwormen.domain.Enum.DiceFace;
+import nl.hva.ewa.regenwormen.domain.Tile;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Offline solver for the dice phase of a turn.
+ * <p>
+ * A turn state is (chosen faces, score, dice left); the worm is the {@link DiceFace#SPECIAL} bit of
+ * the chosen faces. The target is the lowest tile still in the pot: we assume every tile from there
+ * up to 36 can be taken, and count a bust as 0 worms. For every target and state the table holds the
+ * expected worms of <b>rolling on</b> with optimal play. The value of stopping is known without the
+ * table, so every decision is a handful of lookups.
+ * <p>
+ * Run {@link #main} to write the table, or let {@link PolicyTable} build it on first start.
+ */
+public final class PolicySolver {
+    public static final int MIN_TILE = 21;
+    public static final int MAX_TILE = 36;
+
+    static final int TARGETS = MAX_TILE - MIN_TILE + 1;
+    static final int MASKS = 1 << DiceOutcomes.FACE_COUNT;
+    static final int SCORES = DiceOutcomes.MAX_DICE * 5 + 1;
+    static final int DICE = DiceOutcomes.MAX_DICE + 1;
+    public static final int SIZE = TARGETS * MASKS * SCORES * DICE;
+
+    static final int MAGIC = 0x52575054; // "RWPT"
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_BYTES = 3 * Integer.BYTES;
+
+    static final int ALL_FACES = MASKS - 1;
+    static final int SPECIAL_BIT = 1 << DiceFace.SPECIAL.ordinal();
+    private static final int[] POINTS = new int[DiceOutcomes.FACE_COUNT];
+
+    static {
+        for (DiceFace face : DiceFace.values()) POINTS[face.ordinal()] = face.getPoints();
+    }
+
+    private PolicySolver() {
+    }
+
+    public static int index(int target, int chosenMask, int score, int dice) {
+        return (((target - MIN_TILE) * MASKS + chosenMask) * SCORES + score) * DICE + dice;
+    }
+
+    /** Worms for stopping with {@code score} when all tiles from {@code target} up are in the pot; 0 if not allowed */
+    public static int stopWorms(int target, int chosenMask, int score) {
+        if ((chosenMask & SPECIAL_BIT) == 0 || score < target) return 0;
+        return Tile.calculatePoints(Math.min(score, MAX_TILE));
+    }
+
+    public static boolean canRoll(int chosenMask, int dice) {
+        return dice > 0 && chosenMask != ALL_FACES;
+    }
+
+    /** Expected worms for rolling on from every state, see {@link #index} */
+    public static float[] solve() {
+        float[] rollValues = new float[SIZE];
+        // picking always removes dice, so every state only depends on states with fewer dice
+        for (int dice = 1; dice <= DiceOutcomes.MAX_DICE; dice++) {
+            DiceOutcomes outcomes = DiceOutcomes.of(dice);
+            for (int target = MIN_TILE; target <= MAX_TILE; target++) {
+                for (int mask = 0; mask < ALL_FACES; mask++) {
+                    for (int score = 0; score < SCORES; score++) {
+                        if (!reachable(mask, score, dice)) continue;
+                        rollValues[index(target, mask, score, dice)] =
+                                (float) rollValue(rollValues, outcomes, target, mask, score, dice);
+                    }
+                }
+            }
+        }
+        return rollValues;
+    }
+
+    private static double rollValue(float[] table, DiceOutcomes outcomes,
+                                    int target, int mask, int score, int dice) {
+        double expected = 0;
+        for (int o = 0; o < outcomes.size(); o++) {
+            int pickable = outcomes.rolledMask(o) & ~mask;
+            if (pickable == 0) continue; // bust
+            double best = 0;
+            for (int face = 0; face < DiceOutcomes.FACE_COUNT; face++) {
+                if ((pickable & (1 << face)) == 0) continue;
+                int kept = outcomes.count(o, face);
+                best = Math.max(best, valueAfterPick(table, target, mask | (1 << face),
+                        score + kept * POINTS[face], dice - kept));
+            }
+            expected += outcomes.probability(o) * best;
+        }
+        return expected;
+    }
+
+    /** Best of stopping and rolling on, right after a pick */
+    static double valueAfterPick(float[] table, int target, int mask, int score, int dice) {
+        double stop = stopWorms(target, mask, score);
+        if (!canRoll(mask, dice)) return stop;
+        return Math.max(stop, table[index(target, mask, score, dice)]);
+    }
+
+    /** Whether (chosen faces, score, dice left) can occur in a real turn */
+    static boolean reachable(int mask, int score, int dice) {
+        int taken = DiceOutcomes.MAX_DICE - dice;
+        int faces = Integer.bitCount(mask);
+        if (taken < faces) return false;
+        if (mask == 0) return score == 0;
+        int base = 0, low = Integer.MAX_VALUE, high = 0;
+        for (int face = 0; face < DiceOutcomes.FACE_COUNT; face++) {
+            if ((mask & (1 << face)) == 0) continue;
+            base += POINTS[face];
+            low = Math.min(low, POINTS[face]);
+            high = Math.max(high, POINTS[face]);
+        }
+        int extra = taken - faces;
+        return score >= base + extra * low && score <= base + extra * high;
+    }
+
+    public static void write(float[] table, Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        try (OutputStream os = Files.newOutputStream(file);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(table.length);
+            for (float value : table) out.writeFloat(value);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path file = Path.of(args.length > 0 ? args[0] : PolicyTable.DEFAULT_FILE);
+        long start = System.nanoTime();
+        float[] table = solve();
+        write(table, file);
+        System.out.printf("🧮 Policy table (%d states) written to %s in %d ms%n",
+                table.length, file.toAbsolutePath(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
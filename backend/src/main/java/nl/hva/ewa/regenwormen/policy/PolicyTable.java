@@ -0,0 +1,157 @@
+package nl.hva.ewa.regenwormen.policy;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.hva.ewa.regenwormen.domain.Diceroll;
+import nl.hva.ewa.regenwormen.domain.Enum.DiceFace;
+import nl.hva.ewa.regenwormen.domain.Enum.TurnState;
+import nl.hva.ewa.regenwormen.domain.Player;
+import nl.hva.ewa.regenwormen.domain.Tile;
+import nl.hva.ewa.regenwormen.domain.TilesPot;
+import nl.hva.ewa.regenwormen.domain.dto.HintView;
+import nl.hva.ewa.regenwormen.simulation.SimulatedGame;
+import nl.hva.ewa.regenwormen.simulation.Strategy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only view on the table of {@link PolicySolver}, memory-mapped from disk.
+ * The file is built once when it is missing or outdated; after that a hint is a few array reads.
+ */
+@Slf4j
+@Component
+public class PolicyTable {
+    static final String DEFAULT_FILE = "data/policy-table.bin";
+
+    private static final DiceFace[] FACES = DiceFace.values();
+
+    private final FloatBuffer rollValues;
+
+    public PolicyTable(@Value("${regenwormen.policy.file:" + DEFAULT_FILE + "}") String file) {
+        this.rollValues = load(Path.of(file));
+    }
+
+    /** Expected worms of rolling on, see {@link PolicySolver#index} */
+    public double rollValue(int target, int chosenMask, int score, int dice) {
+        if (!PolicySolver.canRoll(chosenMask, dice)) return 0;
+        return rollValues.get(PolicySolver.index(target, chosenMask, score, dice));
+    }
+
+    /** Advice for the current turn of {@code player}; NONE when there is nothing left to win */
+    public HintView hintFor(Player player, TilesPot pot) {
+        int target = pot.getLowestAvailableTileValue();
+        if (target == 0) return HintView.none(player.getId());
+
+        Diceroll roll = player.getDiceRoll();
+        if (roll == null) {
+            double start = rollValue(target, 0, 0, DiceOutcomes.MAX_DICE);
+            return new HintView(player.getId(), HintView.Action.ROLL, null, start, 0, start);
+        }
+
+        int mask = roll.chosenMask();
+        int score = roll.getTakenScore();
+        int dice = roll.getRemainingDiceCount();
+        double stop = stopWorms(pot, mask, score);
+
+        if (roll.getTurnState() == TurnState.MUST_PICK) {
+            DiceFace best = null;
+            double bestValue = -1;
+            for (DiceFace face : FACES) {
+                int kept = roll.countOf(face);
+                if (kept == 0 || roll.isChosen(face)) continue;
+                double value = valueAfterPick(pot, target, mask | bit(face),
+                        score + kept * face.getPoints(), dice - kept);
+                if (value > bestValue) {
+                    best = face;
+                    bestValue = value;
+                }
+            }
+            if (best == null) return HintView.none(player.getId());
+            return new HintView(player.getId(), HintView.Action.PICK, best, bestValue, stop, 0);
+        }
+
+        double rollOn = roll.getTurnState() == TurnState.CAN_ROLL ? rollValue(target, mask, score, dice) : 0;
+        if (stop > 0 && stop >= rollOn) {
+            return new HintView(player.getId(), HintView.Action.STOP, null, stop, stop, rollOn);
+        }
+        if (roll.getTurnState() == TurnState.CAN_ROLL) {
+            return new HintView(player.getId(), HintView.Action.ROLL, null, rollOn, stop, rollOn);
+        }
+        return HintView.none(player.getId());
+    }
+
+    /** The table as a simulation strategy, e.g. for rollouts; thread-safe like the table itself */
+    public Strategy asStrategy() {
+        return new Strategy() {
+            @Override
+            public String name() { return "policy"; }
+
+            @Override
+            public DiceFace pickFace(Diceroll roll, SimulatedGame game) {
+                HintView hint = hintFor(game.currentPlayer(), game.tilesPot());
+                return hint.action() == HintView.Action.PICK ? hint.face() : roll.getPickableFaces().get(0);
+            }
+
+            @Override
+            public boolean stop(Diceroll roll, SimulatedGame game) {
+                return hintFor(game.currentPlayer(), game.tilesPot()).action() == HintView.Action.STOP;
+            }
+        };
+    }
+
+    // ---------------------- Helpers ----------------------
+
+    /** Stop value against the real pot, the table is only needed for what comes after */
+    private double valueAfterPick(TilesPot pot, int target, int mask, int score, int dice) {
+        return Math.max(stopWorms(pot, mask, score), rollValue(target, mask, score, dice));
+    }
+
+    private static double stopWorms(TilesPot pot, int mask, int score) {
+        if ((mask & PolicySolver.SPECIAL_BIT) == 0) return 0;
+        Tile tile = pot.findHighestAvailableTileAtOrBelow(score);
+        return tile == null ? 0 : tile.getPoints();
+    }
+
+    private static int bit(DiceFace face) {
+        return 1 << face.ordinal();
+    }
+
+    private static FloatBuffer load(Path file) {
+        try {
+            if (!isValid(file)) {
+                long start = System.nanoTime();
+                PolicySolver.write(PolicySolver.solve(), file);
+                log.info("🧮 Policy table built at {} in {} ms", file.toAbsolutePath(),
+                        (System.nanoTime() - start) / 1_000_000);
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                // the mapping stays valid after the channel is closed
+                ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                return mapped.position(PolicySolver.HEADER_BYTES).slice().asFloatBuffer();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load policy table " + file, e);
+        }
+    }
+
+    private static boolean isValid(Path file) throws IOException {
+        long expectedSize = PolicySolver.HEADER_BYTES + (long) PolicySolver.SIZE * Float.BYTES;
+        if (!Files.isRegularFile(file) || Files.size(file) != expectedSize) return false;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(PolicySolver.HEADER_BYTES);
+            channel.read(header, 0);
+            header.flip();
+            return header.getInt() == PolicySolver.MAGIC
+                    && header.getInt() == PolicySolver.FORMAT_VERSION
+                    && header.getInt() == PolicySolver.SIZE;
+        }
+    }
+}
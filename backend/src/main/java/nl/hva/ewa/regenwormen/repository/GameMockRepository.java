@@ -2,22 +2,37 @@ package nl.hva.ewa.regenwormen.repository;
 
 import nl.hva.ewa.regenwormen.domain.Enum.GameState;
 import nl.hva.ewa.regenwormen.domain.Game;
+import nl.hva.ewa.regenwormen.domain.Player;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Repository;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * In-memory games with secondary indexes (games by state, game by player), safe for many threads.
+ * The indexes follow the last {@link #save}: a change to a game shows up in them once it is saved,
+ * like with a database. Every save of one game updates its index entries under the lock of that
+ * game's bin in {@code indexed}, so games on different bins never wait for each other.
+ */
 @Primary
 @Repository
 public class GameMockRepository implements GameRepository {
 
-    private final Map<String, Game> games = new HashMap<>();
+    /** What a game was indexed under at its last save */
+    private record Indexed(GameState state, Set<String> playerIds) {
+    }
+
+    private final Map<String, Game> games = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Indexed> indexed = new ConcurrentHashMap<>();
+    private final Map<GameState, Set<String>> idsByState = new EnumMap<>(GameState.class);
+    private final Map<String, String> gameIdByPlayerId = new ConcurrentHashMap<>();
 
     public GameMockRepository() {
-        Game g1 = new Game("Room_1", 2);
-        Game g2 = new Game("Room_2", 4);
-        games.put(g1.getId(), g1);
-        games.put(g2.getId(), g2);
+        for (GameState state : GameState.values()) idsByState.put(state, ConcurrentHashMap.newKeySet());
+
+        save(new Game("Room_1", 2));
+        save(new Game("Room_2", 4));
     }
 
     @Override
@@ -27,9 +42,17 @@ public class GameMockRepository implements GameRepository {
 
     @Override
     public List<Game> findAllPreGames() {
-        return games.values().stream()
-                .filter(g -> g.getGameState() == GameState.PRE_GAME)
-                .toList();
+        return findAllByState(GameState.PRE_GAME);
+    }
+
+    @Override
+    public List<Game> findAllByState(GameState state) {
+        List<Game> result = new ArrayList<>();
+        for (String id : idsByState.get(state)) {
+            Game game = games.get(id);
+            if (game != null) result.add(game);
+        }
+        return result;
     }
 
     @Override
@@ -37,14 +60,49 @@ public class GameMockRepository implements GameRepository {
         return Optional.ofNullable(games.get(id));
     }
 
+    @Override
+    public Optional<Game> findByPlayerId(String playerId) {
+        String gameId = gameIdByPlayerId.get(playerId);
+        return gameId == null ? Optional.empty() : findById(gameId);
+    }
+
     @Override
     public Game save(Game game) {
-        games.put(game.getId(), game);
+        String id = game.getId();
+        indexed.compute(id, (key, old) -> {
+            Indexed now = new Indexed(game.getGameState(), playerIds(game));
+            unindex(id, old, now);
+            idsByState.get(now.state()).add(id);
+            for (String playerId : now.playerIds()) gameIdByPlayerId.put(playerId, id);
+            games.put(id, game);
+            return now;
+        });
         return game;
     }
 
     @Override
     public Game deleteById(String id) {
-        return games.remove(id);
+        Game[] removed = new Game[1];
+        indexed.compute(id, (key, old) -> {
+            unindex(id, old, null);
+            removed[0] = games.remove(id);
+            return null;
+        });
+        return removed[0];
+    }
+
+    /** Drops the index entries of {@code old} that {@code now} no longer has */
+    private void unindex(String id, Indexed old, Indexed now) {
+        if (old == null) return;
+        if (now == null || old.state() != now.state()) idsByState.get(old.state()).remove(id);
+        for (String playerId : old.playerIds()) {
+            if (now == null || !now.playerIds().contains(playerId)) gameIdByPlayerId.remove(playerId, id);
+        }
+    }
+
+    private static Set<String> playerIds(Game game) {
+        Set<String> ids = new HashSet<>();
+        for (Player player : game.getPlayers()) ids.add(player.getId());
+        return ids;
     }
 }
@@ -1,5 +1,6 @@
 package nl.hva.ewa.regenwormen.repository;
 
+import nl.hva.ewa.regenwormen.domain.Enum.GameState;
 import nl.hva.ewa.regenwormen.domain.Game;
 import nl.hva.ewa.regenwormen.domain.Player;
 
@@ -10,7 +11,10 @@ public interface GameRepository {
 
     List<Game> findAll();
     List<Game> findAllPreGames();
+    List<Game> findAllByState(GameState state);
     Optional<Game> findById(String id);
+    /** The game the player was last saved in */
+    Optional<Game> findByPlayerId(String playerId);
     Game save(Game game);
     Game deleteById(String id);
 }
@@ -4,41 +4,66 @@ import nl.hva.ewa.regenwormen.domain.Player;
 import org.springframework.stereotype.Repository;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * In-memory players by id, with a name index; safe for many threads.
+ * The name index follows the last {@link #save} of a player.
+ */
 @Repository
 public class PlayerMockRepository implements PlayerRepository {
 
-    private final List<Player> players = new ArrayList<>();
+    private final Map<String, Player> players = new ConcurrentHashMap<>();
+    /** Player id → name it was indexed under */
+    private final ConcurrentHashMap<String, String> indexedNames = new ConcurrentHashMap<>();
+    private final Map<String, String> idByName = new ConcurrentHashMap<>();
 
     public PlayerMockRepository(){
 
-        players.add(new Player("Player1"));
-        players.add(new Player("Player2"));
-        players.add(new Player("Player3"));
-        players.add(new Player("Player4"));
+        save(new Player("Player1"));
+        save(new Player("Player2"));
+        save(new Player("Player3"));
+        save(new Player("Player4"));
     }
 
     @Override
     public Player save(Player player) {
-        // Verwijder oude versie met dezelfde id (upsert)
-        players.removeIf(p -> Objects.equals(p.getId(), player.getId()));
-        players.add(player);
+        // upsert; the name index moves along when the name changed
+        String id = player.getId();
+        indexedNames.compute(id, (key, oldName) -> {
+            String name = player.getName();
+            if (oldName != null && !oldName.equals(name)) idByName.remove(oldName, id);
+            if (name != null) idByName.put(name, id);
+            players.put(id, player);
+            return name;
+        });
         return player;
     }
 
     @Override
     public Optional<Player> findById(String id) {
-        return players.stream()
-                .filter(p -> Objects.equals(p.getId(), id))
-                .findFirst();
+        return id == null ? Optional.empty() : Optional.ofNullable(players.get(id));
+    }
+
+    @Override
+    public Optional<Player> findByName(String name) {
+        String id = name == null ? null : idByName.get(name);
+        return id == null ? Optional.empty() : findById(id);
     }
 
     public boolean deleteByPlayerId(String id){
-        return players.removeIf(p -> Objects.equals(p.getId(), id));
+        if (id == null) return false;
+        boolean[] removed = new boolean[1];
+        indexedNames.compute(id, (key, name) -> {
+            if (name != null) idByName.remove(name, id);
+            removed[0] = players.remove(id) != null;
+            return null;
+        });
+        return removed[0];
     }
 
     @Override
     public List<Player> findAll() {
-        return List.copyOf(players);
+        return List.copyOf(players.values());
     }
 }
@@ -8,6 +8,7 @@ import java.util.Optional;
 public interface PlayerRepository {
     Player save(Player player);
     Optional<Player> findById(String id);
+    Optional<Player> findByName(String name);
     boolean deleteByPlayerId(String id);
     List<Player> findAll();
 }
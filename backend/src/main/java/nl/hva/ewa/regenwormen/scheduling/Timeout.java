@@ -0,0 +1,12 @@
+package nl.hva.ewa.regenwormen.scheduling;
+
+/** Handle to a task scheduled on the {@link TimingWheel} */
+public interface Timeout {
+
+    /** @return true when this call stopped the task, false when it already ran or was cancelled */
+    boolean cancel();
+
+    boolean isCancelled();
+
+    boolean isExpired();
+}
@@ -0,0 +1,243 @@
+package nl.hva.ewa.regenwormen.scheduling;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import nl.hva.ewa.regenwormen.config.ExecutionMode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed timing wheel for all game timers: turn deadlines, lobby disconnect timeouts
+ * and short start delays.
+ * <p>
+ * Time is cut into ticks; a timeout goes into the bucket of the tick it is due in, together with
+ * the number of full turns of the wheel it still has to wait. Scheduling and cancelling are O(1):
+ * scheduling adds to a queue, cancelling only flips the timeout's state. One ticker thread moves new
+ * timeouts into their bucket and runs the bucket of the current tick, dropping the cancelled ones it
+ * passes. Due tasks are handed to an executor, so a slow task never holds up the ticker.
+ * A timeout fires at most one tick late, never early.
+ */
+@Slf4j
+@Component
+public class TimingWheel {
+
+    /** Timeouts moved into buckets per tick, so a burst of schedules cannot stall a tick */
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private static final int WAITING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Executor executor;
+
+    private final Queue<Entry> added = new ConcurrentLinkedQueue<>();
+    private final LongAdder pending = new LongAdder();
+
+    private final long startNanos;
+    private final Thread ticker;
+    private volatile boolean stopped;
+
+    /** Ticks done since start; only used by the ticker thread */
+    private long tick;
+
+    @Autowired
+    public TimingWheel(@Value("${regenwormen.timers.tick-ms:100}") long tickMs,
+                       @Value("${regenwormen.timers.wheel-size:512}") int wheelSize,
+                       ExecutionMode mode) {
+        this(tickMs, TimeUnit.MILLISECONDS, wheelSize, mode.newExecutor("timer", 2));
+    }
+
+    /**
+     * @param wheelSize buckets, a power of two; a wheel of {@code wheelSize} ticks covers one round
+     * @param executor  runs the due tasks
+     */
+    public TimingWheel(long tickDuration, TimeUnit unit, int wheelSize, Executor executor) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive");
+        }
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two, got " + wheelSize);
+        }
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.wheel = new Bucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) wheel[i] = new Bucket();
+        this.mask = wheelSize - 1;
+        this.executor = executor;
+
+        this.startNanos = System.nanoTime();
+        this.ticker = Thread.ofPlatform().name("timing-wheel").daemon().unstarted(this::runTicker);
+        ticker.start();
+    }
+
+    // ---------------------- ⏱️ Scheduling ----------------------
+    /** Runs {@code task} once after {@code delay} */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        Entry entry = new Entry(task, now() + Math.max(0, unit.toNanos(delay)));
+        add(entry);
+        return entry;
+    }
+
+    /** Timeouts that are neither run nor cancelled yet */
+    public long pendingTimeouts() {
+        return pending.sum();
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopped = true;
+        LockSupport.unpark(ticker);
+    }
+
+    private long now() {
+        return System.nanoTime() - startNanos;
+    }
+
+    private void add(Entry entry) {
+        if (stopped) throw new IllegalStateException("Timing wheel is stopped");
+        pending.increment();
+        added.add(entry);
+    }
+
+    // ---------------------- 🔁 Ticker ----------------------
+    private void runTicker() {
+        while (!stopped) {
+            long now = waitForNextTick();
+            if (now < 0) break;
+            transferAdded();
+            wheel[(int) (tick & mask)].expire();
+            tick++;
+        }
+    }
+
+    /** Sleeps until the end of the current tick; returns the time then, or -1 when stopped */
+    private long waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        while (true) {
+            long now = now();
+            if (now >= deadline) return now;
+            if (stopped) return -1;
+            LockSupport.parkNanos(this, deadline - now);
+        }
+    }
+
+    private void transferAdded() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Entry entry = added.poll();
+            if (entry == null) return;
+            if (entry.state.get() != WAITING) continue;
+
+            long dueTick = entry.deadline / tickNanos;
+            entry.rounds = (dueTick - tick) / wheel.length;
+            // already overdue (it was added while the ticker was behind): run it in this tick
+            wheel[(int) (Math.max(dueTick, tick) & mask)].add(entry);
+        }
+    }
+
+    // ---------------------- 🪣 Buckets ----------------------
+    /** Doubly linked list of entries; only used by the ticker thread */
+    private static final class Bucket {
+        private Entry head;
+        private Entry tail;
+
+        void add(Entry entry) {
+            if (tail == null) {
+                head = tail = entry;
+            } else {
+                tail.next = entry;
+                entry.prev = tail;
+                tail = entry;
+            }
+        }
+
+        void remove(Entry entry) {
+            if (entry.prev != null) entry.prev.next = entry.next;
+            else head = entry.next;
+            if (entry.next != null) entry.next.prev = entry.prev;
+            else tail = entry.prev;
+            entry.prev = entry.next = null;
+        }
+
+        /** Runs the entries due in this round, drops cancelled ones and moves the others one round closer */
+        void expire() {
+            Entry entry = head;
+            while (entry != null) {
+                Entry next = entry.next;
+                if (entry.rounds <= 0) {
+                    remove(entry);
+                    entry.expire();
+                } else if (entry.state.get() == CANCELLED) {
+                    remove(entry);
+                } else {
+                    entry.rounds--;
+                }
+                entry = next;
+            }
+        }
+    }
+
+    private final class Entry implements Timeout, Runnable {
+        private final Runnable task;
+        /** Nanos since the wheel started */
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        // owned by the ticker thread
+        private long rounds;
+        private Entry prev;
+        private Entry next;
+
+        Entry(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!state.compareAndSet(WAITING, CANCELLED)) return false;
+            pending.decrement();
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        void expire() {
+            if (!state.compareAndSet(WAITING, EXPIRED)) return;
+            pending.decrement();
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                log.warn("Timeout dropped, executor rejected it: {}", e.getMessage());
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.warn("Timer task failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+}
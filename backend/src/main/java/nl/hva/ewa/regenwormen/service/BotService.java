@@ -0,0 +1,160 @@
+package nl.hva.ewa.regenwormen.service;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.hva.ewa.regenwormen.domain.Diceroll;
+import nl.hva.ewa.regenwormen.domain.Enum.GameState;
+import nl.hva.ewa.regenwormen.domain.Game;
+import nl.hva.ewa.regenwormen.domain.Player;
+import nl.hva.ewa.regenwormen.domain.Tile;
+import nl.hva.ewa.regenwormen.domain.dto.ClaimOptions;
+import nl.hva.ewa.regenwormen.domain.dto.EndTurnView;
+import nl.hva.ewa.regenwormen.domain.dto.HintView;
+import nl.hva.ewa.regenwormen.domain.dto.StealOptions;
+import nl.hva.ewa.regenwormen.policy.PolicyTable;
+import nl.hva.ewa.regenwormen.repository.GameRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Server-side bots. A bot is an ordinary {@link Player} in the game; its turns are played with the
+ * {@link PolicyTable} through the same {@link InGameService} commands a client would call, so
+ * timers, snapshots and broadcasts behave exactly as for humans.
+ */
+@Slf4j
+@Service
+public class BotService {
+
+    /** A turn never needs this many commands; protects against a bot looping on an error */
+    private static final int MAX_COMMANDS_PER_TURN = 64;
+
+    private final GameRepository gameRepo;
+    private final InGameService inGame;
+    private final PolicyTable policy;
+    private final GameMailboxes mailboxes;
+    private final int maxBotGames;
+
+    public BotService(GameRepository gameRepo, InGameService inGame, PolicyTable policy, GameMailboxes mailboxes,
+                      @Value("${regenwormen.bots.max-games:2}") int maxBotGames) {
+        this.gameRepo = gameRepo;
+        this.inGame = inGame;
+        this.policy = policy;
+        this.mailboxes = mailboxes;
+        this.maxBotGames = maxBotGames;
+    }
+
+    // ---------------------- 🤖 Seats ----------------------
+    /** Adds bots until the game is full; returns how many were added */
+    public int fillEmptySeats(Game game) {
+        int added = 0;
+        int number = 1;
+        while (game.playersAmount() < game.getMaxPlayers()) {
+            String name = "Bot " + number++;
+            if (game.findPlayerByName(name) != null) continue;
+            game.addPlayer(Player.bot(name));
+            added++;
+        }
+        return added;
+    }
+
+    /**
+     * Creates and starts a game with only bots, e.g. for load and balance testing. Bots, timers and the
+     * odds estimator all run on the server, so at most {@code maxBotGames} of these play at once.
+     */
+    public synchronized Game startBotGame(int players, Long seed) {
+        if (runningBotGames() >= maxBotGames) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                    "At most " + maxBotGames + " bot games can run at once");
+        }
+        Game game = new Game("Bots", players);
+        fillEmptySeats(game);
+        if (seed == null) game.startGame();
+        else game.startGame(seed);
+        game.commit();
+        gameRepo.save(game);
+        log.debug("🤖 Bot game {} started with {} bots (dice seed {})", game.getId(), players, game.getSeed());
+
+        inGame.startInitialTurnTimer(game, game.getCurrentPlayer());
+        return game;
+    }
+
+    private long runningBotGames() {
+        return gameRepo.findAllByState(GameState.PLAYING).stream()
+                .filter(game -> game.getPlayers().stream().allMatch(Player::isBot))
+                .count();
+    }
+
+    // ---------------------- 🎲 Turns ----------------------
+    /**
+     * Plays the rest of the current turn of {@code player}, from whatever point it is at.
+     * Used for bot seats and for humans whose turn timer ran out. The whole turn runs as one
+     * task on the game's mailbox, so nothing else happens in the game halfway through it.
+     *
+     * @return false when the turn could not be finished (the caller should skip the player)
+     */
+    public boolean playTurn(String gameId, Player player) {
+        return mailboxes.call(gameId, () -> playTurnNow(gameId, player));
+    }
+
+    private boolean playTurnNow(String gameId, Player player) {
+        String name = player.getName();
+        try {
+            for (int i = 0; i < MAX_COMMANDS_PER_TURN; i++) {
+                Game game = inGame.getGameById(gameId);
+                if (game.getGameState() != GameState.PLAYING || !player.equals(game.getCurrentPlayer())) {
+                    return true;
+                }
+                nextCommand(game, player, name);
+            }
+            log.warn("🤖 Turn of {} in game {} did not finish", name, gameId);
+        } catch (RuntimeException e) {
+            log.warn("🤖 Turn of {} in game {} failed: {}", name, gameId, e.getMessage());
+        }
+        return false;
+    }
+
+    // Commands pass no expected version: the whole turn is one mailbox task, nothing can come in between
+    private void nextCommand(Game game, Player player, String name) {
+        String gameId = game.getId();
+        Diceroll roll = player.getDiceRoll();
+        if (roll == null) {
+            inGame.startAndRollRound(gameId, name, null);
+            return;
+        }
+
+        HintView hint = policy.hintFor(player, game.getTilesPot());
+        switch (hint.action()) {
+            case PICK -> inGame.pickDiceFace(gameId, name, hint.face(), null);
+            case ROLL -> inGame.reRoll(gameId, name, null);
+            case STOP -> takeTile(gameId, name);
+            case NONE -> {
+                // nothing worth rolling for: take a tile (or a steal) if allowed, otherwise bust
+                if (!roll.getBusted() && roll.hasSpecial() && game.hasMinValueToStop(roll.getTakenScore())) {
+                    takeTile(gameId, name);
+                } else {
+                    inGame.reRoll(gameId, name, null);
+                }
+            }
+        }
+    }
+
+    /** Ends the dice phase and takes the best tile; stealing wins ties because it also hurts an opponent */
+    private void takeTile(String gameId, String name) {
+        EndTurnView end = inGame.finishRound(gameId, name, null);
+        ClaimOptions options = end.claimOptions();
+        if (end.busted() || options == null) return;
+
+        int bestPot = options.claimablePotValues().stream().mapToInt(Integer::intValue).max().orElse(0);
+        StealOptions steal = options.stealableTopTiles().isEmpty() ? null : options.stealableTopTiles().get(0);
+
+        if (steal != null && (bestPot == 0
+                || Tile.calculatePoints(steal.tileValue()) >= Tile.calculatePoints(bestPot))) {
+            inGame.stealTopTileFromPlayer(gameId, name, steal.victimPlayerId(), null);
+        } else if (bestPot > 0) {
+            inGame.claimTileFromPot(gameId, name, bestPot, null);
+        } else {
+            inGame.reRoll(gameId, name, null);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package nl.hva.ewa.regenwormen.service;
+
+import com.fasterxml.jackson.databind.util.RawValue;
+import nl.hva.ewa.regenwormen.domain.Enum.GameState;
+import nl.hva.ewa.regenwormen.domain.Game;
+import nl.hva.ewa.regenwormen.domain.dto.GameDelta;
+import nl.hva.ewa.regenwormen.domain.dto.GameEvents;
+import nl.hva.ewa.regenwormen.domain.dto.GameEvents.GameEvent;
+import nl.hva.ewa.regenwormen.domain.dto.GameSnapshot;
+import nl.hva.ewa.regenwormen.repository.GameRepository;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Sends game events to {@code /topic/game/{id}/...}. Events published while a command runs in
+ * {@link #batch} are held back and sent together when it is done: one frame, and the game state
+ * worked out (and serialized) once however often the command announced it.
+ */
+@Component
+public class GameEventPublisher {
+
+    private static final String STATE = "state";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final GameRepository gameRepo;
+    private final GamePayloadCache payloads;
+
+    /** Per game the snapshot the last broadcast brought clients to; deltas are made against it */
+    private final Map<String, GameSnapshot> lastBroadcast = new ConcurrentHashMap<>();
+    /** The command running on this thread (a game's mailbox) and what it published so far */
+    private final ThreadLocal<Batch> batches = new ThreadLocal<>();
+
+    public GameEventPublisher(SimpMessagingTemplate messagingTemplate, GameRepository gameRepo,
+                              GamePayloadCache payloads) {
+        this.messagingTemplate = messagingTemplate;
+        this.gameRepo = gameRepo;
+        this.payloads = payloads;
+    }
+
+    // -------------------- 📦 One frame per command --------------------
+    /**
+     * Runs {@code command} for {@code gameId} (on its mailbox), holding back what it publishes until it
+     * is done; nested calls join the outer batch.
+     */
+    public <T> T batch(String gameId, Supplier<T> command) {
+        if (batches.get() != null) return command.get();
+
+        Batch batch = new Batch(gameId);
+        batches.set(batch);
+        try {
+            return command.get();
+        } finally {
+            batches.remove();
+            flush(batch);
+        }
+    }
+
+    public void batch(String gameId, Runnable command) {
+        batch(gameId, () -> {
+            command.run();
+            return null;
+        });
+    }
+
+    /** An event on {@code /topic/game/{id}/{type}}, or in the running batch of that game */
+    public void publish(String gameId, String type, Object body) {
+        Batch batch = openBatch(gameId);
+        if (batch != null) {
+            batch.events.add(new GameEvent(type, body));
+        } else {
+            messagingTemplate.convertAndSend("/topic/game/" + gameId + "/" + type, body);
+        }
+    }
+
+    // Sends what changed since the last broadcast (see GameDelta), the full committed snapshot when a
+    // delta will not do; never the live (possibly half-updated) game
+    public void publishState(String gameId) {
+        Batch batch = openBatch(gameId);
+        if (batch != null) {
+            if (batch.state < 0) {
+                batch.state = batch.events.size();
+                batch.events.add(null); // filled in when the command is done
+            }
+            return;
+        }
+
+        Object state = stateUpdate(gameId);
+        if (state != null) sendState(gameId, state);
+    }
+
+    /** The full snapshot to one session only (the client subscribes to /user/queue/game) */
+    public void sendSnapshot(String sessionId, GameSnapshot snapshot) {
+        messagingTemplate.send("/user/" + sessionId + "/queue/game", snapshotMessage(snapshot, sessionId));
+    }
+
+    private Batch openBatch(String gameId) {
+        Batch batch = batches.get();
+        return batch != null && batch.gameId.equals(gameId) ? batch : null;
+    }
+
+    private void flush(Batch batch) {
+        List<GameEvent> events = batch.events;
+        if (batch.state >= 0) {
+            Object state = stateUpdate(batch.gameId);
+            if (state == null) {
+                events.remove(batch.state);
+            } else if (events.size() == 1) {
+                sendState(batch.gameId, state);
+                return;
+            } else {
+                events.set(batch.state, new GameEvent(STATE, state instanceof GameSnapshot snapshot
+                        ? new RawValue(new String(payloads.json(snapshot), StandardCharsets.UTF_8))
+                        : state));
+            }
+        }
+
+        if (events.isEmpty()) return;
+        if (events.size() == 1) {
+            GameEvent only = events.get(0);
+            messagingTemplate.convertAndSend("/topic/game/" + batch.gameId + "/" + only.type(), only.body());
+            return;
+        }
+        messagingTemplate.convertAndSend("/topic/game/" + batch.gameId + "/batch", new GameEvents(events));
+    }
+
+    // -------------------- 🔁 Game state --------------------
+    /** The delta or full snapshot that brings clients to the current version; null when they have it */
+    private Object stateUpdate(String gameId) {
+        Game game = gameRepo.findById(gameId).orElse(null);
+        if (game == null) {
+            lastBroadcast.remove(gameId);
+            return null;
+        }
+
+        GameSnapshot current = game.getSnapshot();
+        GameSnapshot[] previous = new GameSnapshot[1];
+        lastBroadcast.compute(gameId, (id, last) -> {
+            previous[0] = last;
+            return last == null || last.version() < current.version() ? current : last;
+        });
+        // nothing new, or a newer version already went out
+        if (previous[0] != null && previous[0].version() >= current.version()) return null;
+        if (current.gameState() == GameState.ENDED) lastBroadcast.remove(gameId);
+
+        GameDelta delta = GameDelta.between(previous[0], current);
+        return delta != null ? delta : current;
+    }
+
+    private void sendState(String gameId, Object state) {
+        if (state instanceof GameSnapshot snapshot) {
+            messagingTemplate.send("/topic/game/" + gameId, snapshotMessage(snapshot, null));
+        } else {
+            messagingTemplate.convertAndSend("/topic/game/" + gameId, state);
+        }
+    }
+
+    // 📦 The snapshot's JSON is written once per version (see GamePayloadCache) and sent as is
+    private Message<byte[]> snapshotMessage(GameSnapshot snapshot, String sessionId) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        if (sessionId != null) headers.setSessionId(sessionId);
+        headers.setLeaveMutable(true);
+        return MessageBuilder.createMessage(payloads.json(snapshot), headers.getMessageHeaders());
+    }
+
+    private static final class Batch {
+        private final String gameId;
+        private final List<GameEvent> events = new ArrayList<>();
+        /** Position of the game state in {@code events}, -1 while the command did not change it */
+        private int state = -1;
+
+        Batch(String gameId) {
+            this.gameId = gameId;
+        }
+    }
+}
@@ -44,6 +44,14 @@ public class GameGuards {
         }
     }
 
+    // 🔢 Optimistic concurrency: a command made for another version of the game is stale (e.g. a double click)
+    public void ensureVersion(Game game, Long expectedVersion) {
+        if (expectedVersion != null && expectedVersion != game.getVersion()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Game is at version %d, not %d".formatted(game.getVersion(), expectedVersion));
+        }
+    }
+
     // 🔌 Check if any player is disconnected (game should be blocked)
     public void ensureNoPlayersDisconnected(Game game) {
         boolean anyDisconnected = game.getPlayers().stream()
@@ -0,0 +1,151 @@
+package nl.hva.ewa.regenwormen.service;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.hva.ewa.regenwormen.config.ExecutionMode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * One mailbox per game: every command, timeout, bot turn and leave for a game is queued here and
+ * run one at a time, in order, so a Game is only ever changed by one thread at a time.
+ * Mailboxes of different games run in parallel (on virtual threads, or a platform pool, see
+ * {@link ExecutionMode}); there is no shared lock.
+ */
+@Slf4j
+@Component
+public class GameMailboxes {
+
+    /** Tasks run per drain before the mailbox gives its thread back (fairness between games) */
+    private static final int BATCH = 64;
+
+    /** Game whose mailbox the current thread is draining, so nested calls run inline */
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private final Executor executor;
+    private final Map<String, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    public GameMailboxes() {
+        this(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Autowired
+    public GameMailboxes(ExecutionMode mode) {
+        this(mode.newExecutor("game", Math.max(8, Runtime.getRuntime().availableProcessors() * 4)));
+    }
+
+    GameMailboxes(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Runs {@code command} on the game's mailbox and waits for the result.
+     * Exceptions are rethrown as-is, so ResponseStatusExceptions still reach the client.
+     */
+    public <T> T call(String gameId, Supplier<T> command) {
+        if (gameId.equals(CURRENT.get())) return command.get();
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        enqueue(gameId, () -> {
+            try {
+                result.complete(command.get());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error err) throw err;
+            throw e;
+        }
+    }
+
+    public void run(String gameId, Runnable command) {
+        call(gameId, () -> {
+            command.run();
+            return null;
+        });
+    }
+
+    /** Queues {@code task} without waiting (timers, bot turns); failures are logged */
+    public void post(String gameId, Runnable task) {
+        enqueue(gameId, () -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.warn("Task for game {} failed: {}", gameId, e.getMessage());
+            }
+        });
+    }
+
+    /** Forgets the mailbox of a game that is gone; tasks still queued are run first */
+    public void close(String gameId) {
+        mailboxes.computeIfPresent(gameId, (id, mailbox) -> {
+            mailbox.closing = true;
+            return mailbox.removable() ? null : mailbox; // else the drain removes it once the queue is empty
+        });
+    }
+
+    /**
+     * Adds the task inside the map operation for the game, like the removal: a mailbox that is removed
+     * never gets another task, so a game never has two mailboxes running.
+     */
+    private void enqueue(String gameId, Runnable task) {
+        Mailbox mailbox = mailboxes.compute(gameId, (id, existing) -> {
+            Mailbox target = existing != null ? existing : new Mailbox(id);
+            target.queue.add(task);
+            return target;
+        });
+        mailbox.scheduleIfIdle();
+    }
+
+    private final class Mailbox implements Runnable {
+        private final String gameId;
+        private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean closing;
+
+        Mailbox(String gameId) {
+            this.gameId = gameId;
+        }
+
+        boolean removable() {
+            return queue.isEmpty() && !scheduled.get();
+        }
+
+        private void scheduleIfIdle() {
+            if (!queue.isEmpty() && scheduled.compareAndSet(false, true)) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            CURRENT.set(gameId);
+            try {
+                Runnable task;
+                for (int i = 0; i < BATCH && (task = queue.poll()) != null; i++) {
+                    task.run();
+                }
+            } finally {
+                CURRENT.remove();
+                scheduled.set(false);
+                if (closing) mailboxes.computeIfPresent(gameId, (id, mailbox) -> mailbox == this && removable() ? null : mailbox);
+                // a task may have been added after the last poll
+                scheduleIfIdle();
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package nl.hva.ewa.regenwormen.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import nl.hva.ewa.regenwormen.domain.dto.GameSnapshot;
+import nl.hva.ewa.regenwormen.domain.dto.GameSnapshotModule;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The JSON (and, for clients that ask for it, CBOR) of the latest snapshot of every game, written once
+ * per version.
+ * <p>
+ * Full snapshots go out for every {@code /app/sync}, {@code GET /ingame/{id}} and fallback broadcast;
+ * during a reconnect burst that is the same version many times over. Each game keeps the bytes of
+ * one version per format: asking for a newer version replaces them, asking for an older one (a reader
+ * that was slow) serializes that one without caching it. Concurrent readers of a version that is not
+ * cached yet wait for one serialization instead of each doing their own.
+ */
+@Component
+public class GamePayloadCache {
+
+    private record Entry(long version, byte[] bytes) {
+    }
+
+    private final ObjectMapper json;
+    private final ObjectMapper cbor;
+    private final Map<String, Entry> jsonEntries = new ConcurrentHashMap<>();
+    private final Map<String, Entry> cborEntries = new ConcurrentHashMap<>();
+
+    public GamePayloadCache(ObjectMapper json) {
+        this.json = json;
+        // snapshots are plain records: nothing the JSON settings would change
+        this.cbor = CBORMapper.builder().addModule(new GameSnapshotModule()).build();
+    }
+
+    /** The JSON of {@code snapshot}; do not modify the array */
+    public byte[] json(GameSnapshot snapshot) {
+        return cached(jsonEntries, json, snapshot);
+    }
+
+    /** The CBOR of {@code snapshot}; do not modify the array */
+    public byte[] cbor(GameSnapshot snapshot) {
+        return cached(cborEntries, cbor, snapshot);
+    }
+
+    /** Drops the bytes of a game that is gone */
+    public void forget(String gameId) {
+        jsonEntries.remove(gameId);
+        cborEntries.remove(gameId);
+    }
+
+    private static byte[] cached(Map<String, Entry> entries, ObjectMapper mapper, GameSnapshot snapshot) {
+        Entry cached = entries.get(snapshot.id());
+        if (cached != null && cached.version() == snapshot.version()) return cached.bytes();
+
+        Entry[] result = new Entry[1];
+        entries.compute(snapshot.id(), (id, old) -> {
+            if (old != null && old.version() == snapshot.version()) {
+                result[0] = old;
+                return old;
+            }
+            result[0] = new Entry(snapshot.version(), write(mapper, snapshot));
+            return old != null && old.version() > snapshot.version() ? old : result[0];
+        });
+        return result[0].bytes();
+    }
+
+    private static byte[] write(ObjectMapper mapper, GameSnapshot snapshot) {
+        try {
+            return mapper.writeValueAsBytes(snapshot);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package nl.hva.ewa.regenwormen.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Results of in-game commands by {@code Idempotency-Key}, so a retried request gets the original
+ * answer instead of running the command again.
+ * <p>
+ * Per game a bounded cache (oldest key out first) whose entries expire after a while. The first
+ * request with a key runs the command; duplicates, also ones arriving while it still runs, wait for
+ * and get that same result. A failed command is not kept: the next retry runs it again.
+ */
+@Component
+public class IdempotencyCache {
+
+    private final long ttlMillis;
+    private final int maxKeysPerGame;
+    private final LongSupplier clock;
+    private final Map<String, GameCache> caches = new ConcurrentHashMap<>();
+
+    public IdempotencyCache(@Value("${regenwormen.idempotency.ttl-seconds:60}") long ttlSeconds,
+                            @Value("${regenwormen.idempotency.max-keys-per-game:256}") int maxKeysPerGame) {
+        this(ttlSeconds * 1000, maxKeysPerGame, System::currentTimeMillis);
+    }
+
+    IdempotencyCache(long ttlMillis, int maxKeysPerGame, LongSupplier clock) {
+        this.ttlMillis = ttlMillis;
+        this.maxKeysPerGame = maxKeysPerGame;
+        this.clock = clock;
+    }
+
+    /**
+     * Runs {@code command} once per key; without a key it just runs.
+     *
+     * @param request what the key was sent with (command and player); reusing a key for another
+     *                request is a client error (422)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String gameId, String key, String request, Supplier<T> command) {
+        if (key == null || key.isBlank()) return command.get();
+
+        GameCache cache = caches.computeIfAbsent(gameId, id -> new GameCache());
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        Entry existing = cache.putIfAbsent(key, new Entry(request, result, clock.getAsLong()));
+
+        if (existing != null) {
+            if (!existing.request().equals(request)) {
+                throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                        "Idempotency-Key was already used for another request");
+            }
+            return (T) join(existing.result());
+        }
+
+        try {
+            T value = command.get();
+            result.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            cache.remove(key, result);
+            result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /** Drops all keys of a game that is gone */
+    public void forget(String gameId) {
+        caches.remove(gameId);
+    }
+
+    private static Object join(CompletableFuture<Object> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error err) throw err;
+            throw e;
+        }
+    }
+
+    private record Entry(String request, CompletableFuture<Object> result, long createdAt) {
+    }
+
+    /** Keys of one game in insertion order, so the oldest (and first to expire) come first */
+    private final class GameCache {
+        private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+        synchronized Entry putIfAbsent(String key, Entry entry) {
+            expireOld(entry.createdAt());
+            Entry existing = entries.get(key);
+            if (existing != null) return existing;
+
+            entries.put(key, entry);
+            if (entries.size() > maxKeysPerGame) {
+                Iterator<Entry> oldest = entries.values().iterator();
+                oldest.next();
+                oldest.remove();
+            }
+            return null;
+        }
+
+        synchronized void remove(String key, CompletableFuture<Object> result) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.result() == result) entries.remove(key);
+        }
+
+        private void expireOld(long now) {
+            Iterator<Entry> it = entries.values().iterator();
+            while (it.hasNext() && now - it.next().createdAt() >= ttlMillis) it.remove();
+        }
+    }
+}
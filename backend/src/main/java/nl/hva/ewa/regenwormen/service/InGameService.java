@@ -1,8 +1,8 @@
 package nl.hva.ewa.regenwormen.service;
 
-import jakarta.transaction.Transactional;
 import nl.hva.ewa.regenwormen.api.LobbyWebSocketController;
 import nl.hva.ewa.regenwormen.controller.GameWebSocketController;
+import nl.hva.ewa.regenwormen.domain.Diceroll;
 import nl.hva.ewa.regenwormen.domain.EndGameHandler;
 import nl.hva.ewa.regenwormen.domain.Enum.DiceFace;
 import nl.hva.ewa.regenwormen.domain.Game;
@@ -10,47 +10,80 @@ import nl.hva.ewa.regenwormen.domain.Lobby;
 import nl.hva.ewa.regenwormen.domain.Player;
 import nl.hva.ewa.regenwormen.domain.TilesPot;
 import nl.hva.ewa.regenwormen.domain.dto.EndTurnView;
+import nl.hva.ewa.regenwormen.domain.dto.GameSnapshot;
+import nl.hva.ewa.regenwormen.domain.dto.HintView;
+import nl.hva.ewa.regenwormen.domain.dto.TurnDeadline;
 import nl.hva.ewa.regenwormen.domain.dto.TurnView;
+import nl.hva.ewa.regenwormen.domain.dto.Versioned;
+import nl.hva.ewa.regenwormen.policy.BustOdds;
+import nl.hva.ewa.regenwormen.policy.PolicyTable;
 import nl.hva.ewa.regenwormen.repository.GameRepository;
 import nl.hva.ewa.regenwormen.repository.LobbyRepository;
 import nl.hva.ewa.regenwormen.repository.GameResultRepository;
+import nl.hva.ewa.regenwormen.scheduling.Timeout;
+import nl.hva.ewa.regenwormen.scheduling.TimingWheel;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Map;
 import java.util.concurrent.*;
+import java.util.function.Supplier;
 
 @Service
-@Transactional
 public class InGameService {
 
     private final GameRepository gameRepo;
     private final GameResultRepository gameResultRepository;
     private final GameGuards guards;
     private final GameWebSocketController ws;
+    private final GameEventPublisher events;
     private final LobbyRepository lobbyRepo;
     private final LobbyWebSocketController lobbyWs;
+    private final PolicyTable policyTable;
+    private final BotService bots;
+    private final WinProbabilityEstimator odds;
+    private final GameMailboxes mailboxes;
+    /** Commands run on the mailbox thread, so database writes get their transaction there */
+    private final TransactionOperations transactions;
 
     // 🔥 Timer system
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(4);
-    private final Map<String, ScheduledFuture<?>> activeTimers = new ConcurrentHashMap<>();
-    private final Map<String, Integer> remainingTimes = new ConcurrentHashMap<>();
+    private final TimingWheel timers;
+    private final Map<String, Timeout> activeTimers = new ConcurrentHashMap<>();
+    private final Map<String, TurnDeadline> deadlines = new ConcurrentHashMap<>();
 
     private static final int TURN_SECONDS = 15;
+    /** Extra time when the turn passes, so the next player sees the new state before the clock runs */
+    private static final int ANNOUNCE_GRACE_SECONDS = 1;
 
     public InGameService(GameRepository gameRepo,
                          GameResultRepository gameResultRepository,
                          GameGuards guards,
                          GameWebSocketController ws,
+                         GameEventPublisher events,
                          LobbyRepository lobbyRepo,
-                         LobbyWebSocketController lobbyWs) {
+                         LobbyWebSocketController lobbyWs,
+                         PolicyTable policyTable,
+                         @Lazy BotService bots,
+                         WinProbabilityEstimator odds,
+                         GameMailboxes mailboxes,
+                         TimingWheel timers,
+                         TransactionOperations transactions) {
         this.gameRepo = gameRepo;
         this.gameResultRepository = gameResultRepository;
         this.guards = guards;
         this.ws = ws;
+        this.events = events;
         this.lobbyRepo = lobbyRepo;
         this.lobbyWs = lobbyWs;
+        this.policyTable = policyTable;
+        this.bots = bots;
+        this.odds = odds;
+        this.mailboxes = mailboxes;
+        this.timers = timers;
+        this.transactions = transactions;
     }
 
     // ---------------------- 🧩 Get full game by ID ----------------------
@@ -60,13 +93,64 @@ public class InGameService {
                         new ResponseStatusException(HttpStatus.NOT_FOUND, "Game not found: " + gameId));
     }
 
+    // ---------------------- 🧩 Get last committed snapshot ----------------------
+    public GameSnapshot getSnapshot(String gameId) {
+        return getGameById(gameId).getSnapshot();
+    }
+
+    // ---------------------- 💡 Hint for the current turn ----------------------
+    public HintView getHint(String gameId, String username) {
+        return mailboxes.call(gameId, () -> {
+            Game game = guards.getGameOrThrow(gameId);
+            Player player = getPlayerByUsername(game, username);
+            guards.ensureYourTurn(game, player);
+            return policyTable.hintFor(player, game.getTilesPot());
+        });
+    }
+
     // ---------------------- Helpers ----------------------
+    /** Commit point of every command: publish a new snapshot, save and broadcast it */
     private <T> T persistAndReturn(Game game, T payload) {
+        game.commit();
         gameRepo.save(game);
         ws.broadcastGameUpdate(game.getId());
         return payload;
     }
 
+    /**
+     * Runs a command on the game's mailbox, unless it was made for another version of the game
+     * ({@code expectedVersion} null = unconditional). Stale commands are turned away before they
+     * queue; the check is repeated on the mailbox, where no other command can slip in between.
+     */
+    private <T> T command(String gameId, Long expectedVersion, Supplier<T> body) {
+        guards.ensureVersion(guards.getGameOrThrow(gameId), expectedVersion);
+        return mailboxes.call(gameId, () -> events.batch(gameId, () -> {
+            guards.ensureVersion(guards.getGameOrThrow(gameId), expectedVersion);
+            return body.get();
+        }));
+    }
+
+    /** Odds of rolling again; only meaningful once a face is picked, a pending pick has no reroll to judge */
+    private static TurnView withRerollOdds(TurnView view, Player player) {
+        Diceroll roll = player.getDiceRoll();
+        if (view.busted() || roll == null) return view;
+        return switch (roll.getTurnState()) {
+            case ENDED -> view.withRerollOdds(1, 0);
+            case MUST_PICK -> view.withRerollOdds(0, 0);
+            case CAN_ROLL -> view.withRerollOdds(
+                    BustOdds.bustProbability(roll.getRemainingDiceCount(), roll.chosenMask()),
+                    BustOdds.expectedGain(roll.getRemainingDiceCount(), roll.chosenMask()));
+        };
+    }
+
+    /**
+     * Runs {@code command} and reads the version it left behind in the same mailbox task, so a command
+     * queued right after it cannot end up in the answer's ETag
+     */
+    public <T> Versioned<T> versioned(String gameId, Supplier<T> command) {
+        return mailboxes.call(gameId, () -> new Versioned<>(command.get(), guards.getGameOrThrow(gameId).getVersion()));
+    }
+
     private Player getPlayerByUsername(Game game, String username) {
         return game.getPlayers().stream()
                 .filter(p -> p.getName().equals(username))
@@ -79,58 +163,80 @@ public class InGameService {
     }
 
     // ---------------------- 🔥 TURN TIMER LOGIC ----------------------
-    private synchronized void startTurnTimer(Game game, Player player) {
+    // Timer state is only changed from the game's mailbox; the timeout itself only posts to it.
+    // Clients get one deadline per (re)start and count down themselves.
+    private void startTurnTimer(Game game, Player player) {
+        startTurnTimer(game, player, TURN_SECONDS);
+    }
+
+    private void startTurnTimer(Game game, Player player, int seconds) {
         String gameId = game.getId();
 
         // eerst altijd oude timer killen
         cancelTurnTimer(gameId);
 
-        remainingTimes.put(gameId, TURN_SECONDS);
-        ws.broadcastTimer(gameId, player.getName(), TURN_SECONDS);
-
-        final int[] timeLeft = {TURN_SECONDS};
-
-        ScheduledFuture<?> timer = scheduler.scheduleAtFixedRate(() -> {
-            try {
-                timeLeft[0]--;
+        // 🤖 bots never run out of time
+        if (player.isBot()) {
+            ws.broadcastTimer(gameId, TurnDeadline.none(player.getName()));
+            return;
+        }
 
-                if (timeLeft[0] <= 0) {
-                    cancelTurnTimer(gameId);
-                    handleTurnTimeout(game, player);
-                    return;
-                }
+        TurnDeadline deadline = TurnDeadline.at(player.getName(), System.currentTimeMillis() + seconds * 1000L);
+        deadlines.put(gameId, deadline);
+        ws.broadcastTimer(gameId, deadline);
 
-                remainingTimes.put(gameId, timeLeft[0]);
-                ws.broadcastTimer(gameId, player.getName(), timeLeft[0]);
-            } catch (Exception e) {
-                System.err.println("Error in turn timer: " + e.getMessage());
+        final Timeout[] timer = new Timeout[1];
+        // the timeout is a command like any other, unless this timer was replaced meanwhile
+        timer[0] = timers.schedule(() -> mailboxes.post(gameId, () -> events.batch(gameId, () -> {
+            if (activeTimers.remove(gameId, timer[0])) {
+                deadlines.remove(gameId);
+                handleTurnTimeout(game, player);
             }
-        }, 1, 1, TimeUnit.SECONDS);
+        })), seconds, TimeUnit.SECONDS);
 
-        activeTimers.put(gameId, timer);
+        activeTimers.put(gameId, timer[0]);
     }
 
 
     private void startNextPlayerTimerAndAnnounce(Game game) {
+        // 📈 the turn passed (claim, steal or bust): new odds, off the command thread
+        odds.estimateAsync(game.getSnapshot());
+
         Player next = game.getCurrentPlayer();
         if (next == null) return;
+        if (game.getGameState() == nl.hva.ewa.regenwormen.domain.Enum.GameState.ENDED) return;
 
         ws.broadcastGameUpdate(game.getId());
-        remainingTimes.put(game.getId(), TURN_SECONDS);
-        ws.broadcastTimer(game.getId(), next.getName(), TURN_SECONDS);
+        if (next.isBot()) {
+            scheduleBotTurn(game, next);
+            return;
+        }
+        startTurnTimer(game, next, TURN_SECONDS + ANNOUNCE_GRACE_SECONDS);
+    }
 
-        scheduler.schedule(() -> startTurnTimer(game, next), 1, TimeUnit.SECONDS);
+    private void cancelTurnTimer(String gameId) {
+        Timeout old = activeTimers.remove(gameId);
+        if (old != null) old.cancel();
+        deadlines.remove(gameId);
     }
 
-    private synchronized void cancelTurnTimer(String gameId) {
-        ScheduledFuture<?> old = activeTimers.remove(gameId);
-        if (old != null) old.cancel(true);
-        remainingTimes.remove(gameId);
+    /** Plays the bot's turn on the game's mailbox, through the same commands as a client */
+    private void scheduleBotTurn(Game game, Player bot) {
+        mailboxes.post(game.getId(), () -> events.batch(game.getId(), () -> {
+            if (!bots.playTurn(game.getId(), bot)) handleTurnTimeout(game, bot);
+        }));
     }
 
     private void handleTurnTimeout(Game game, Player player) {
         ws.broadcastTurnTimeout(game.getId(), player.getName());
 
+        // 🤖 a bot finishes the turn instead of skipping it
+        if (!player.isBot() && bots.playTurn(game.getId(), player)) {
+            ws.broadcastSystemMessage(game.getId(),
+                    "🤖 " + player.getName() + "'s turn expired — a bot finished it");
+            return;
+        }
+
         try {
             game.forceNextPlayer();
             handleEndGameIfNeeded(game);
@@ -153,180 +259,220 @@ public class InGameService {
         startNextPlayerTimerAndAnnounce(game);
     }
 
-    public int getRemainingTime(String gameId) {
-        return remainingTimes.getOrDefault(gameId, 0);
+    /** Deadline of the running turn timer, or null when no timer runs */
+    public TurnDeadline getTurnDeadline(String gameId) {
+        TurnDeadline deadline = deadlines.get(gameId);
+        return deadline == null ? null : deadline.refreshed();
     }
 
     // ---------------------- ROUND 0 ----------------------
-    public TurnView startAndRollRoundZero(String gameId, String username) {
-        Game game = guards.getGameOrThrow(gameId);
-        Player player = getPlayerByUsername(game, username);
-        guards.ensurePlayerInGame(game, player);
-
-        TurnView view = game.startAndRollRoundZero(player);
-        persistAndReturn(game, view);
-        startTurnTimer(game, player);
-        return view;
+    public TurnView startAndRollRoundZero(String gameId, String username, Long expectedVersion) {
+        return command(gameId, expectedVersion, () -> {
+            Game game = guards.getGameOrThrow(gameId);
+            Player player = getPlayerByUsername(game, username);
+            guards.ensurePlayerInGame(game, player);
+
+            TurnView view = withRerollOdds(game.startAndRollRoundZero(player), player);
+            persistAndReturn(game, view);
+            startTurnTimer(game, player);
+            return view;
+        });
     }
 
-    public TurnView pickDiceFaceZero(String gameId, String username, DiceFace diceFace) {
-        Game game = guards.getGameOrThrow(gameId);
-        Player player = getPlayerByUsername(game, username);
-        guards.ensurePlayerInGame(game, player);
+    public TurnView pickDiceFaceZero(String gameId, String username, DiceFace diceFace, Long expectedVersion) {
+        return command(gameId, expectedVersion, () -> {
+            Game game = guards.getGameOrThrow(gameId);
+            Player player = getPlayerByUsername(game, username);
+            guards.ensurePlayerInGame(game, player);
 
-        TurnView view = game.pickDiceFaceZero(player, diceFace);
-        startTurnTimer(game, player);
-        return persistAndReturn(game, view);
+            TurnView view = withRerollOdds(game.pickDiceFaceZero(player, diceFace), player);
+            startTurnTimer(game, player);
+            return persistAndReturn(game, view);
+        });
     }
 
-    public TurnView reRollZero(String gameId, String username) {
-        Game game = guards.getGameOrThrow(gameId);
-        Player player = getPlayerByUsername(game, username);
-        guards.ensurePlayerInGame(game, player);
+    public TurnView reRollZero(String gameId, String username, Long expectedVersion) {
+        return command(gameId, expectedVersion, () -> {
+            Game game = guards.getGameOrThrow(gameId);
+            Player player = getPlayerByUsername(game, username);
+            guards.ensurePlayerInGame(game, player);
 
-        TurnView view = game.reRollRoundZero(player);
-        startTurnTimer(game, player);
-        return persistAndReturn(game, view);
+            TurnView view = withRerollOdds(game.reRollRoundZero(player), player);
+            startTurnTimer(game, player);
+            return persistAndReturn(game, view);
+        });
     }
 
-    public EndTurnView finishRoundZero(String gameId, String username) {
-        Game game = guards.getGameOrThrow(gameId);
-        Player player = getPlayerByUsername(game, username);
+    public EndTurnView finishRoundZero(String gameId, String username, Long expectedVersion) {
+        return command(gameId, expectedVersion, () -> {
+            Game game = guards.getGameOrThrow(gameId);
+            Player player = getPlayerByUsername(game, username);
 
-        EndGameHandler handler =
-                new EndGameHandler(game, ws, gameResultRepository);
-        handler.checkAndHandleEndGame();
+            saveResultsIfEnded(game);
 
-        cancelTurnTimer(game.getId());
-        EndTurnView view = game.finishRoundZero(player);
-        return persistAndReturn(game, view);
+            cancelTurnTimer(game.getId());
+            EndTurnView view = game.finishRoundZero(player);
+            return persistAndReturn(game, view);
+        });
     }
 
     // ---------------------- NORMAL ROUNDS ----------------------
-    public TurnView startAndRollRound(String gameId, String username) {
-        Game game = guards.getGameOrThrow(gameId);
-        Player player = getPlayerByUsername(game, username);
-        guards.ensureYourTurn(game, player);
-
-        TurnView view = game.startAndRollRound();
-        persistAndReturn(game, view);
-        startTurnTimer(game, player);
-        return view;
+    public TurnView startAndRollRound(String gameId, String username, Long expectedVersion) {
+        return command(gameId, expectedVersion, () -> {
+            Game game = guards.getGameOrThrow(gameId);
+            Player player = getPlayerByUsername(game, username);
+            guards.ensureYourTurn(game, player);
+
+            TurnView view = withRerollOdds(game.startAndRollRound(), player);
+            persistAndReturn(game, view);
+            startTurnTimer(game, player);
+            return view;
+        });
     }
 
-    public TurnView pickDiceFace(String gameId, String username, DiceFace diceFace) {
-        Game game = guards.getGameOrThrow(gameId);
-        Player player = getPlayerByUsername(game, username);
-        guards.ensureYourTurn(game, player);
+    public TurnView pickDiceFace(String gameId, String username, DiceFace diceFace, Long expectedVersion) {
+        return command(gameId, expectedVersion, () -> {
+            Game game = guards.getGameOrThrow(gameId);
+            Player player = getPlayerByUsername(game, username);
+            guards.ensureYourTurn(game, player);
 
-        TurnView view = game.pickDiceFace(diceFace);
-        startTurnTimer(game, player);
-        return persistAndReturn(game, view);
+            TurnView view = withRerollOdds(game.pickDiceFace(diceFace), player);
+            startTurnTimer(game, player);
+            return persistAndReturn(game, view);
+        });
     }
 
-    public TurnView reRoll(String gameId, String username) {
-        Game game = guards.getGameOrThrow(gameId);
-        Player player = getPlayerByUsername(game, username);
-        guards.ensureYourTurn(game, player);
+    public TurnView reRoll(String gameId, String username, Long expectedVersion) {
+        return command(gameId, expectedVersion, () -> {
+            Game game = guards.getGameOrThrow(gameId);
+            Player player = getPlayerByUsername(game, username);
+            guards.ensureYourTurn(game, player);
 
-        TurnView view = game.reRollRound();
-        startTurnTimer(game, player);
-        return persistAndReturn(game, view);
+            TurnView view = withRerollOdds(game.reRollRound(), player);
+            if (view.busted()) {
+                return passTurn(game, view);
+            }
+            startTurnTimer(game, player);
+            return persistAndReturn(game, view);
+        });
     }
 
-    public EndTurnView finishRound(String gameId, String username) {
-        Game game = guards.getGameOrThrow(gameId);
-        Player player = getPlayerByUsername(game, username);
-        guards.ensureYourTurn(game, player);
+    public EndTurnView finishRound(String gameId, String username, Long expectedVersion) {
+        return command(gameId, expectedVersion, () -> {
+            Game game = guards.getGameOrThrow(gameId);
+            Player player = getPlayerByUsername(game, username);
+            guards.ensureYourTurn(game, player);
 
-        EndGameHandler handler =
-                new EndGameHandler(game, ws, gameResultRepository);
-        handler.checkAndHandleEndGame();
+            saveResultsIfEnded(game);
 
+            cancelTurnTimer(game.getId());
+            EndTurnView view = game.finishRound();
+            return persistAndReturn(game, view);
+        });
+    }
+
+    /** The turn ended in a bust: the game already moved on, so start the next player's turn */
+    private <T> T passTurn(Game game, T payload) {
+        handleEndGameIfNeeded(game);
         cancelTurnTimer(game.getId());
-        EndTurnView view = game.finishRound();
-        return persistAndReturn(game, view);
+        persistAndReturn(game, payload);
+        startNextPlayerTimerAndAnnounce(game);
+        return payload;
     }
 
     // ---------------------- TILE CLAIMING ----------------------
-    public Game claimTileFromPot(String gameId, String username, int tileValue) {
-        Game game = guards.getGameOrThrow(gameId);
-        Player player = getPlayerByUsername(game, username);
-        guards.ensureYourTurn(game, player);
+    public GameSnapshot claimTileFromPot(String gameId, String username, int tileValue, Long expectedVersion) {
+        return command(gameId, expectedVersion, () -> {
+            Game game = guards.getGameOrThrow(gameId);
+            Player player = getPlayerByUsername(game, username);
+            guards.ensureYourTurn(game, player);
 
-        game.claimFromPot(tileValue);
+            game.claimFromPot(tileValue);
 
-        cancelTurnTimer(game.getId());
-        persistAndReturn(game, game);
-        startNextPlayerTimerAndAnnounce(game);
-        return game;
+            cancelTurnTimer(game.getId());
+            GameSnapshot committed = persistAndReturn(game, game).getSnapshot();
+            startNextPlayerTimerAndAnnounce(game);
+            return committed;
+        });
     }
 
     // ---------------------- TILE STEALING ----------------------
-    public TilesPot stealTopTileFromPlayer(String gameId, String currentUsername, String victimUsername) {
-        Game game = guards.getGameOrThrow(gameId);
-        Player current = getPlayerByUsername(game, currentUsername);
-        Player victim = getPlayerByUsername(game, victimUsername.trim().replace("\"", ""));
+    public TilesPot stealTopTileFromPlayer(String gameId, String currentUsername, String victimUsername,
+                                           Long expectedVersion) {
+        return command(gameId, expectedVersion, () -> {
+            Game game = guards.getGameOrThrow(gameId);
+            Player current = getPlayerByUsername(game, currentUsername);
+            Player victim = getPlayerByUsername(game, victimUsername.trim().replace("\"", ""));
 
-        guards.ensureYourTurn(game, current);
+            guards.ensureYourTurn(game, current);
 
-        TilesPot result = game.stealTopTile(victim.getName());
-        handleEndGameIfNeeded(game);
-        cancelTurnTimer(game.getId());
-        persistAndReturn(game, result);
-        startNextPlayerTimerAndAnnounce(game);
-        return result;
+            TilesPot result = game.stealTopTile(victim.getName());
+            handleEndGameIfNeeded(game);
+            cancelTurnTimer(game.getId());
+            persistAndReturn(game, result);
+            startNextPlayerTimerAndAnnounce(game);
+            return result;
+        });
     }
 
     // ---------------------- LEAVE GAME ----------------------
     public void leaveGame(String gameId, String username) {
-        Game game = guards.getGameOrThrow(gameId);
-        Player player = getPlayerByUsername(game, username);
-
-        boolean wasCurrent = game.getCurrentPlayer() != null && game.getCurrentPlayer().equals(player);
+        mailboxes.run(gameId, () -> events.batch(gameId, () -> {
+            Game game = guards.getGameOrThrow(gameId);
+            Player player = getPlayerByUsername(game, username);
 
-        game.leavePlayer(player.getId());
+            boolean wasCurrent = game.getCurrentPlayer() != null && game.getCurrentPlayer().equals(player);
 
-        // Also remove from lobby if applicable
-        Lobby lobby = lobbyRepo.findAll().stream()
-                .filter(l -> l.getGameId() != null && l.getGameId().equals(gameId))
-                .findFirst()
-                .orElse(null);
+            game.leavePlayer(player.getId());
 
-        if (lobby != null) {
-            lobby.getPlayers().removeIf(p -> p.getUsername().equals(username));
-            lobbyRepo.save(lobby);
-            lobbyWs.broadcastLobbyUpdate(lobby.getId());
-        }
+            // Also remove from lobby if applicable
+            Lobby lobby = lobbyRepo.findAll().stream()
+                    .filter(l -> l.getGameId() != null && l.getGameId().equals(gameId))
+                    .findFirst()
+                    .orElse(null);
 
-        if (game.getGameState() == nl.hva.ewa.regenwormen.domain.Enum.GameState.ENDED) {
-            cancelTurnTimer(game.getId());
-        } else if (wasCurrent) {
-            Player next = game.getCurrentPlayer();
-            if (next != null) {
-                startTurnTimer(game, next);
+            if (lobby != null) {
+                lobby.getPlayers().removeIf(p -> p.getUsername().equals(username));
+                lobbyRepo.save(lobby);
+                lobbyWs.broadcastLobbyUpdate(lobby.getId());
             }
-        }
 
-        persistAndReturn(game, null);
+            boolean ended = game.getGameState() == nl.hva.ewa.regenwormen.domain.Enum.GameState.ENDED;
+            if (ended || wasCurrent) cancelTurnTimer(game.getId());
+
+            persistAndReturn(game, null);
+            // the turn passed: a bot next plays it, a human gets the clock
+            if (!ended && wasCurrent) startNextPlayerTimerAndAnnounce(game);
+        }));
     }
 
     // 🕒 Used by LobbyController to start the timer after game creation
     public void startInitialTurnTimer(Game game, Player player) {
-        scheduler.schedule(() -> startTurnTimer(game, player), 1, TimeUnit.SECONDS);
+        if (player.isBot()) {
+            scheduleBotTurn(game, player);
+            return;
+        }
+        timers.schedule(() -> mailboxes.post(game.getId(),
+                        () -> events.batch(game.getId(), () -> startTurnTimer(game, player))),
+                1, TimeUnit.SECONDS);
     }
 
     private void handleEndGameIfNeeded(Game game) {
         System.out.println("🧪 handleEndGameIfNeeded called for game " + game.getId()
                 + " | state=" + game.getGameState()
                 + " | tilesLeft=" + game.getTilesPot().amountAvailableTiles());
-        EndGameHandler handler =
-                new EndGameHandler(game, ws, gameResultRepository);
-        handler.checkAndHandleEndGame();
-        
+        saveResultsIfEnded(game);
+
         // If game ended, cancel timer
         if (game.getGameState() == nl.hva.ewa.regenwormen.domain.Enum.GameState.ENDED) {
             cancelTurnTimer(game.getId());
         }
     }
+
+    /** The results of every player are saved together or not at all; no transaction while tiles are left */
+    private void saveResultsIfEnded(Game game) {
+        if (game.getTilesPot() == null || game.getTilesPot().amountAvailableTiles() != 0) return;
+        transactions.executeWithoutResult(status ->
+                new EndGameHandler(game, ws, gameResultRepository).checkAndHandleEndGame());
+    }
 }
@@ -0,0 +1,310 @@
+package nl.hva.ewa.regenwormen.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import nl.hva.ewa.regenwormen.controller.GameWebSocketController;
+import nl.hva.ewa.regenwormen.domain.Enum.GameState;
+import nl.hva.ewa.regenwormen.domain.Game;
+import nl.hva.ewa.regenwormen.domain.Player;
+import nl.hva.ewa.regenwormen.repository.GameRepository;
+import nl.hva.ewa.regenwormen.scheduling.Timeout;
+import nl.hva.ewa.regenwormen.scheduling.TimingWheel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Who is still there, in lobbies and running games.
+ * <p>
+ * Clients send a heartbeat every few seconds; one map holds the last one per player and one sweep
+ * (every {@code sweep-ms} on the {@link TimingWheel}) walks it. A player silent for longer than the
+ * heartbeat timeout, or who said goodbye, is marked {@link Player.PlayerStatus#DISCONNECTED} and gets
+ * a grace period with a countdown on {@code /topic/game/{id}/disconnect}; a heartbeat in time makes
+ * them {@code CONNECTED} again, otherwise they are removed from the game. Status changes found in one
+ * sweep are applied per game in one go.
+ */
+@Slf4j
+@Service
+public class PresenceService {
+
+    private final GameRepository gameRepo;
+    private final GameMailboxes mailboxes;
+    private final TimingWheel timers;
+    private final GameWebSocketController ws;
+    private final GameEventPublisher events;
+    private final InGameService inGame;
+
+    private final long heartbeatTimeoutMillis;
+    private final long graceMillis;
+    private final long sweepMillis;
+    private final LongSupplier clock;
+
+    private final Map<Key, Presence> presences = new ConcurrentHashMap<>();
+    private volatile Timeout sweeper;
+    private volatile boolean stopped;
+
+    @Autowired
+    public PresenceService(GameRepository gameRepo,
+                           GameMailboxes mailboxes,
+                           TimingWheel timers,
+                           GameWebSocketController ws,
+                           GameEventPublisher events,
+                           @Lazy InGameService inGame,
+                           @Value("${regenwormen.presence.heartbeat-timeout-seconds:15}") long heartbeatTimeoutSeconds,
+                           @Value("${regenwormen.presence.grace-seconds:60}") long graceSeconds,
+                           @Value("${regenwormen.presence.sweep-ms:1000}") long sweepMillis) {
+        this(gameRepo, mailboxes, timers, ws, events, inGame,
+                heartbeatTimeoutSeconds * 1000, graceSeconds * 1000, sweepMillis, System::currentTimeMillis);
+    }
+
+    PresenceService(GameRepository gameRepo, GameMailboxes mailboxes, TimingWheel timers,
+                    GameWebSocketController ws, GameEventPublisher events, InGameService inGame,
+                    long heartbeatTimeoutMillis, long graceMillis, long sweepMillis, LongSupplier clock) {
+        this.gameRepo = gameRepo;
+        this.mailboxes = mailboxes;
+        this.timers = timers;
+        this.ws = ws;
+        this.events = events;
+        this.inGame = inGame;
+        this.heartbeatTimeoutMillis = heartbeatTimeoutMillis;
+        this.graceMillis = graceMillis;
+        this.sweepMillis = sweepMillis;
+        this.clock = clock;
+    }
+
+    // ---------------------- 💓 Client events ----------------------
+    /** A heartbeat or a reconnect; {@code playerRef} is the player id, user id or name */
+    public void seen(String gameId, String playerRef) {
+        Player player = resolve(gameId, playerRef);
+        if (player == null) return;
+
+        Key key = new Key(gameId, player.getId());
+        long now = clock.getAsLong();
+        boolean[] back = {false};
+        // every change of a presence is one map operation on its key, so the sweeper sees it before or after
+        presences.compute(key, (k, presence) -> {
+            if (presence == null) presence = new Presence(player.getName(), now);
+            presence.lastSeen = now;
+            if (presence.disconnectedAt >= 0 || player.getStatus() == Player.PlayerStatus.DISCONNECTED) {
+                presence.disconnectedAt = -1;
+                back[0] = true;
+            }
+            return presence;
+        });
+        if (back[0]) {
+            log.info("Player {} is back in game {}", key.playerId(), gameId);
+            applyStatus(gameId, Map.of(key.playerId(), Player.PlayerStatus.CONNECTED));
+        }
+    }
+
+    /** The client says it is leaving (tab closed, socket closing): the grace period starts right away */
+    public void disconnected(String gameId, String playerRef) {
+        Player player = resolve(gameId, playerRef);
+        if (player == null) return;
+
+        Key key = new Key(gameId, player.getId());
+        long now = clock.getAsLong();
+        boolean[] left = {false};
+        presences.compute(key, (k, presence) -> {
+            if (presence == null) presence = new Presence(player.getName(), now);
+            if (presence.disconnectedAt < 0) {
+                presence.disconnectedAt = now;
+                left[0] = true;
+            }
+            return presence;
+        });
+        if (!left[0]) return;
+
+        log.info("Player {} disconnected from game {}", key.playerId(), gameId);
+        applyStatus(gameId, Map.of(key.playerId(), Player.PlayerStatus.DISCONNECTED));
+    }
+
+    /** Drops everyone of a game that is gone */
+    public void forget(String gameId) {
+        presences.keySet().removeIf(key -> key.gameId().equals(gameId));
+    }
+
+    /** Players tracked, in all games */
+    public int tracked() {
+        return presences.size();
+    }
+
+    // ---------------------- 🧹 Sweeper ----------------------
+    @PostConstruct
+    public void start() {
+        scheduleSweep();
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopped = true;
+        Timeout current = sweeper;
+        if (current != null) current.cancel();
+    }
+
+    private void scheduleSweep() {
+        if (stopped) return;
+        sweeper = timers.schedule(() -> {
+            try {
+                sweep();
+            } finally {
+                scheduleSweep();
+            }
+        }, sweepMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /** One pass over all players: marks the silent ones, counts down and removes the ones out of time */
+    void sweep() {
+        long now = clock.getAsLong();
+        Map<String, Map<String, Player.PlayerStatus>> silent = new HashMap<>();
+        Map<String, List<Key>> expired = new HashMap<>();
+
+        for (Map.Entry<Key, Presence> entry : presences.entrySet()) {
+            Key key = entry.getKey();
+            Presence presence = entry.getValue();
+
+            if (presence.disconnectedAt < 0) {
+                if (!markSilent(key, now)) continue;
+                silent.computeIfAbsent(key.gameId(), id -> new HashMap<>())
+                        .put(key.playerId(), Player.PlayerStatus.DISCONNECTED);
+            } else if (now - presence.disconnectedAt >= graceMillis) {
+                expired.computeIfAbsent(key.gameId(), id -> new ArrayList<>()).add(key);
+            } else {
+                int secondsLeft = secondsLeft(presence, now);
+                if (secondsLeft != presence.announced) {
+                    presence.announced = secondsLeft;
+                    announce(key.gameId(), presence.name, secondsLeft);
+                }
+            }
+        }
+
+        silent.forEach(this::applyStatus);
+        expired.forEach(this::remove);
+    }
+
+    private int secondsLeft(Presence presence, long now) {
+        long left = graceMillis - (now - presence.disconnectedAt);
+        return (int) Math.max(0, (left + 999) / 1000);
+    }
+
+    // ---------------------- 🔌 Game updates ----------------------
+    private void applyStatus(String gameId, Map<String, Player.PlayerStatus> statuses) {
+        mailboxes.post(gameId, () -> events.batch(gameId, () -> {
+            Game game = gameRepo.findById(gameId).orElse(null);
+            if (game == null) return;
+
+            boolean changed = false;
+            for (Player player : game.getPlayers()) {
+                Player.PlayerStatus status = statuses.get(player.getId());
+                if (status == null || player.getStatus() == status) continue;
+                player.setStatus(status);
+                changed = true;
+
+                Presence presence = presences.get(new Key(gameId, player.getId()));
+                int secondsLeft = status == Player.PlayerStatus.CONNECTED || presence == null
+                        ? 0 : secondsLeft(presence, clock.getAsLong());
+                if (presence != null) presence.announced = secondsLeft;
+                announce(gameId, player.getName(), secondsLeft);
+            }
+            if (!changed) return;
+
+            game.commit();
+            gameRepo.save(game);
+            ws.broadcastGameUpdate(gameId);
+        }));
+    }
+
+    /** Out of time: lobby seats are freed, players of a running game leave it */
+    private void remove(String gameId, List<Key> keys) {
+        mailboxes.post(gameId, () -> events.batch(gameId, () -> {
+            Game game = gameRepo.findById(gameId).orElse(null);
+            if (game == null) return;
+
+            for (Key key : keys) {
+                // a heartbeat may have come in after the sweep
+                if (!stillGone(key, clock.getAsLong())) continue;
+                Player player = game.findPlayerById(key.playerId());
+                if (player == null) continue;
+                log.info("Player {} did not come back - removing from game {}", player.getName(), gameId);
+                announce(gameId, player.getName(), 0);
+
+                if (game.getGameState() == GameState.PLAYING) {
+                    inGame.leaveGame(gameId, player.getName());
+                } else if (game.getGameState() == GameState.PRE_GAME) {
+                    game.leavePlayer(player.getId());
+                    game.commit();
+                    gameRepo.save(game);
+                }
+            }
+        }));
+    }
+
+    /** Starts the grace period of a player without heartbeats; atomic with {@link #seen} */
+    private boolean markSilent(Key key, long now) {
+        boolean[] silent = {false};
+        presences.computeIfPresent(key, (k, presence) -> {
+            if (presence.disconnectedAt < 0 && now - presence.lastSeen >= heartbeatTimeoutMillis) {
+                presence.disconnectedAt = now;
+                silent[0] = true;
+            }
+            return presence;
+        });
+        return silent[0];
+    }
+
+    /** Stops tracking the player if still away past the grace period; atomic with {@link #seen} */
+    private boolean stillGone(Key key, long now) {
+        boolean[] gone = {false};
+        presences.computeIfPresent(key, (k, presence) -> {
+            if (presence.disconnectedAt < 0 || now - presence.disconnectedAt < graceMillis) return presence;
+            gone[0] = true;
+            return null;
+        });
+        return gone[0];
+    }
+
+    private void announce(String gameId, String player, int secondsLeft) {
+        ws.broadcastDisconnectCountdown(gameId, player, secondsLeft);
+    }
+
+    /** Heartbeats carry the player id, the user id or (older clients) the name */
+    private Player resolve(String gameId, String playerRef) {
+        if (gameId == null || playerRef == null) return null;
+        Game game = gameRepo.findById(gameId).orElse(null);
+        if (game == null) return null;
+
+        return game.getPlayers().stream()
+                .filter(p -> !p.isBot())
+                .filter(p -> playerRef.equals(p.getId()) || playerRef.equals(p.getUser())
+                        || playerRef.equals(p.getName()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private record Key(String gameId, String playerId) {
+    }
+
+    private static final class Presence {
+        private final String name;
+        private volatile long lastSeen;
+        /** When the grace period started, -1 while connected */
+        private volatile long disconnectedAt = -1;
+        /** Last countdown second sent; only used by the sweeper and status updates */
+        private volatile int announced = -1;
+
+        Presence(String name, long now) {
+            this.name = name;
+            this.lastSeen = now;
+        }
+    }
+}
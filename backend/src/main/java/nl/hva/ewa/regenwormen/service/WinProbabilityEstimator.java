@@ -0,0 +1,167 @@
+package nl.hva.ewa.regenwormen.service;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.hva.ewa.regenwormen.controller.GameWebSocketController;
+import nl.hva.ewa.regenwormen.domain.Enum.GameState;
+import nl.hva.ewa.regenwormen.domain.dto.GameSnapshot;
+import nl.hva.ewa.regenwormen.domain.dto.OddsView;
+import nl.hva.ewa.regenwormen.policy.PolicyTable;
+import nl.hva.ewa.regenwormen.simulation.SimulatedGame;
+import nl.hva.ewa.regenwormen.simulation.Strategy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estimates every player's chance to win by playing the rest of the game many times
+ * (policy-table play for every seat) from the last committed snapshot.
+ * <p>
+ * Runs on one fork-join pool shared by all games, never on the command thread. Every estimate
+ * gets a CPU budget (summed over the threads working on it) and is cancelled as soon as a newer
+ * version of the same game comes in; only the estimate of the latest version is published.
+ */
+@Slf4j
+@Service
+public class WinProbabilityEstimator {
+
+    /** Rollouts per budget check */
+    private static final int BATCH = 32;
+
+    private final GameWebSocketController ws;
+    private final Strategy strategy;
+    private final ForkJoinPool pool;
+    private final long cpuBudgetNanos;
+    private final int maxRollouts;
+
+    private final Map<String, Estimate> running = new ConcurrentHashMap<>();
+
+    public WinProbabilityEstimator(GameWebSocketController ws,
+                                   PolicyTable policy,
+                                   @Value("${regenwormen.odds.cpu-budget-ms:200}") long cpuBudgetMs,
+                                   @Value("${regenwormen.odds.max-rollouts:20000}") int maxRollouts) {
+        this.ws = ws;
+        this.strategy = policy.asStrategy();
+        this.pool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+        this.cpuBudgetNanos = cpuBudgetMs * 1_000_000;
+        this.maxRollouts = maxRollouts;
+    }
+
+    /** Starts a new estimate for this snapshot and cancels the one for the previous version */
+    public void estimateAsync(GameSnapshot snapshot) {
+        if (snapshot.gameState() != GameState.PLAYING || snapshot.tilesPot() == null) {
+            cancel(snapshot.id());
+            return;
+        }
+        Estimate estimate = new Estimate(snapshot);
+        Estimate previous = running.put(snapshot.id(), estimate);
+        if (previous != null) previous.cancelled = true;
+        pool.execute(estimate);
+    }
+
+    public void cancel(String gameId) {
+        Estimate previous = running.remove(gameId);
+        if (previous != null) previous.cancelled = true;
+    }
+
+    /** Synchronous estimate, same numbers as the published ones; for tests and tools */
+    public OddsView estimate(GameSnapshot snapshot) {
+        Estimate estimate = new Estimate(snapshot);
+        return estimate.toView(pool.invoke(estimate.rootTask()));
+    }
+
+    // ---------------------- Internals ----------------------
+
+    private final class Estimate extends RecursiveAction {
+        private final GameSnapshot snapshot;
+        private final AtomicLong spentNanos = new AtomicLong();
+        private final AtomicLong rollouts = new AtomicLong();
+        private volatile boolean cancelled;
+
+        Estimate(GameSnapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        protected void compute() {
+            long[] wins = rootTask().invoke();
+            // only the newest estimate of a game may publish, and only once
+            if (!cancelled && running.remove(snapshot.id(), this)) {
+                ws.broadcastOdds(snapshot.id(), toView(wins));
+            }
+        }
+
+        RecursiveTask<long[]> rootTask() {
+            return new RecursiveTask<>() {
+                @Override
+                protected long[] compute() {
+                    List<Rollouts> parts = new ArrayList<>();
+                    for (int i = 0; i < pool.getParallelism(); i++) {
+                        parts.add(new Rollouts(Estimate.this, ThreadLocalRandom.current().nextLong()));
+                    }
+                    long[] wins = new long[snapshot.players().size()];
+                    for (Rollouts part : invokeAll(parts)) {
+                        long[] partWins = part.join();
+                        for (int seat = 0; seat < wins.length; seat++) wins[seat] += partWins[seat];
+                    }
+                    return wins;
+                }
+            };
+        }
+
+        /** Claims the next batch of rollouts; false when the budget is used up or the estimate is stale */
+        boolean nextBatch() {
+            return !cancelled
+                    && spentNanos.get() < cpuBudgetNanos
+                    && rollouts.getAndAdd(BATCH) < maxRollouts;
+        }
+
+        OddsView toView(long[] wins) {
+            long total = 0;
+            for (long w : wins) total += w;
+            List<OddsView.PlayerOdds> players = new ArrayList<>(wins.length);
+            for (int seat = 0; seat < wins.length; seat++) {
+                GameSnapshot.PlayerSnapshot p = snapshot.players().get(seat);
+                players.add(new OddsView.PlayerOdds(p.id(), p.name(),
+                        total == 0 ? 1.0 / wins.length : (double) wins[seat] / total));
+            }
+            return new OddsView(snapshot.version(), (int) total, List.copyOf(players));
+        }
+    }
+
+    /** One worker's share: plays batches until the shared budget is gone */
+    private final class Rollouts extends RecursiveTask<long[]> {
+        private final Estimate estimate;
+        private final long seed;
+
+        Rollouts(Estimate estimate, long seed) {
+            this.estimate = estimate;
+            this.seed = seed;
+        }
+
+        @Override
+        protected long[] compute() {
+            int seats = estimate.snapshot.players().size();
+            long[] wins = new long[seats];
+            SimulatedGame game = new SimulatedGame(Collections.nCopies(seats, strategy), new SplittableRandom(seed));
+            while (estimate.nextBatch()) {
+                long start = System.nanoTime();
+                for (int i = 0; i < BATCH; i++) {
+                    wins[game.playOutFrom(estimate.snapshot)]++;
+                }
+                estimate.spentNanos.addAndGet(System.nanoTime() - start);
+            }
+            return wins;
+        }
+    }
+}
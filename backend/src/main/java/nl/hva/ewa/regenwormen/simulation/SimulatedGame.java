@@ -0,0 +1,207 @@
+package nl.hva.ewa.regenwormen.simulation;
+
+import nl.hva.ewa.regenwormen.domain.Diceroll;
+import nl.hva.ewa.regenwormen.domain.Enum.DiceFace;
+import nl.hva.ewa.regenwormen.domain.Enum.TurnState;
+import nl.hva.ewa.regenwormen.domain.Player;
+import nl.hva.ewa.regenwormen.domain.Tile;
+import nl.hva.ewa.regenwormen.domain.TilesPot;
+import nl.hva.ewa.regenwormen.domain.dto.GameSnapshot;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * A complete game between scripted strategies, without Spring, repositories or broadcasts.
+ * Uses the real {@link Diceroll}, {@link TilesPot} and {@link Player} and follows the same
+ * claim/steal/bust rules as {@code Game}. One instance is reused for many games by one thread.
+ */
+public class SimulatedGame {
+    /** Safety net against games that only steal back and forth */
+    static final int MAX_TURNS = 1_000;
+
+    private final List<Strategy> lineup;
+    private final Player[] seats;
+    private final Strategy[] seatStrategies;
+    private final RandomGenerator random;
+
+    private TilesPot pot = new TilesPot();
+    private int current;
+    private int busts;
+    private int steals;
+
+    public SimulatedGame(List<Strategy> lineup, RandomGenerator random) {
+        if (lineup.size() < 2 || lineup.size() > 8)
+            throw new IllegalArgumentException("A game needs 2 to 8 strategies");
+        this.lineup = List.copyOf(lineup);
+        this.random = random;
+        this.seats = new Player[lineup.size()];
+        this.seatStrategies = new Strategy[lineup.size()];
+        for (int i = 0; i < seats.length; i++) {
+            seats[i] = new Player("Sim" + (i + 1));
+        }
+    }
+
+    // --- read-only view for strategies ---
+    public RandomGenerator random() { return random; }
+    public TilesPot tilesPot() { return pot; }
+    public Player currentPlayer() { return seats[current]; }
+    public int playersAmount() { return seats.length; }
+
+    /** Highest pot tile the current player could take with {@code score}; 0 if none */
+    public int claimableValue(int score) {
+        Tile tile = pot.findHighestAvailableTileAtOrBelow(score);
+        return tile == null ? 0 : tile.getValue();
+    }
+
+    /** Opponent whose top tile can be stolen with exactly {@code score}; null if none */
+    public Player stealVictim(int score) {
+        for (int i = 0; i < seats.length; i++) {
+            if (i == current) continue;
+            Tile top = seats[i].getTopTile();
+            if (top != null && top.getValue() == score) return seats[i];
+        }
+        return null;
+    }
+
+    /** Same conditions as finishing a round in Game: a worm and something to take */
+    public boolean canStop(Diceroll roll) {
+        if (!roll.hasSpecial()) return false;
+        int score = roll.getTakenScore();
+        return claimableValue(score) > 0 || stealVictim(score) != null;
+    }
+
+    // --- playing ---
+
+    /**
+     * Plays one game from the start. The lineup is rotated by {@code seatOffset} so that
+     * over many games every strategy gets every seat.
+     */
+    public void play(int seatOffset, SimulationStats stats) {
+        for (Player p : seats) p.resetPlayer();
+        pot = new TilesPot();
+        for (int seat = 0; seat < seats.length; seat++) {
+            seatStrategies[seat] = lineup.get((seat + seatOffset) % seats.length);
+        }
+        current = 0;
+        busts = 0;
+        steals = 0;
+
+        int turns = playUntilEnd();
+
+        int winnerSeat = winnerSeat();
+        stats.recordGame((winnerSeat + seatOffset) % seats.length, turns, busts, steals,
+                pot.amountAvailableTiles() == 0);
+    }
+
+    /**
+     * Plays out a real game from a committed snapshot taken at the start of a turn.
+     * Seat i is played by lineup entry i; returns the winning seat.
+     */
+    public int playOutFrom(GameSnapshot position) {
+        List<GameSnapshot.PlayerSnapshot> players = position.players();
+        if (players.size() != seats.length || position.tilesPot() == null)
+            throw new IllegalArgumentException("Position does not fit this lineup");
+
+        for (Player p : seats) p.resetPlayer();
+        pot = new TilesPot();
+        for (int seat = 0; seat < seats.length; seat++) {
+            seatStrategies[seat] = lineup.get(seat);
+            GameSnapshot.PlayerSnapshot player = players.get(seat);
+            seats[seat].setDoublePointsTile(player.doublePointsTile());
+            for (GameSnapshot.TileSnapshot tile : player.tiles()) {
+                seats[seat].addTile(pot.findTileByValue(tile.value()));
+            }
+        }
+        for (GameSnapshot.TileSnapshot tile : position.tilesPot().tiles()) {
+            if (tile.flipped()) pot.findTileByValue(tile.value()).flip();
+        }
+        current = position.turnIndex();
+        busts = 0;
+        steals = 0;
+
+        playUntilEnd();
+        return winnerSeat();
+    }
+
+    /** Plays turns from the current state until the pot is empty; returns the number of turns */
+    int playUntilEnd() {
+        int turns = 0;
+        while (pot.amountAvailableTiles() > 0 && turns < MAX_TURNS) {
+            playTurn(seats[current], seatStrategies[current]);
+            turns++;
+            current = (current + 1) % seats.length;
+        }
+        return turns;
+    }
+
+    private void playTurn(Player player, Strategy strategy) {
+        Diceroll roll = new Diceroll(random);
+        player.setStartTurn(roll);
+        try {
+            while (true) {
+                if (roll.rollRemainingDice().isEmpty()) {
+                    bust(player);
+                    return;
+                }
+                DiceFace face = strategy.pickFace(roll, this);
+                roll.pickDice(face);
+                if (roll.getBusted()) {
+                    bust(player);
+                    return;
+                }
+                boolean canStop = canStop(roll);
+                if (roll.getTurnState() == TurnState.ENDED || (canStop && strategy.stop(roll, this))) {
+                    if (canStop) takeTile(player, roll.getTakenScore());
+                    else bust(player);
+                    return;
+                }
+            }
+        } finally {
+            player.setEndTurn();
+        }
+    }
+
+    /** Steals when that is worth at least as many worms as the best pot tile */
+    private void takeTile(Player player, int score) {
+        Tile fromPot = pot.findHighestAvailableTileAtOrBelow(score);
+        Player victim = stealVictim(score);
+        if (victim != null && (fromPot == null || victim.getTopTile().getPoints() >= fromPot.getPoints())) {
+            Tile top = victim.getTopTile();
+            victim.loseTopTileToStack();
+            player.addTile(top);
+            steals++;
+        } else {
+            player.addTile(fromPot);
+        }
+    }
+
+    /** Same penalty as Game.handleBust */
+    private void bust(Player player) {
+        busts++;
+        Tile top = player.getTopTile();
+        if (top != null) {
+            top.tileToPot();
+            player.loseTopTileToStack();
+        }
+        pot.flipHighestAvailableTileIfAny();
+    }
+
+    /** Most worms wins; on a tie the highest tile in the stack decides */
+    private int winnerSeat() {
+        int winner = 0;
+        for (int seat = 1; seat < seats.length; seat++) {
+            int diff = seats[seat].getPoints() - seats[winner].getPoints();
+            if (diff > 0 || (diff == 0 && highestTile(seats[seat]) > highestTile(seats[winner]))) {
+                winner = seat;
+            }
+        }
+        return winner;
+    }
+
+    private static int highestTile(Player p) {
+        int highest = 0;
+        for (Tile t : p.getOwnedTiles()) highest = Math.max(highest, t.getValue());
+        return highest;
+    }
+}
@@ -0,0 +1,67 @@
+package nl.hva.ewa.regenwormen.simulation;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays many games between a fixed lineup of strategies, split over a fork-join pool.
+ * The result only depends on the lineup, the number of games and the seed, not on the
+ * number of threads: every block of games gets its own generator derived from the seed.
+ */
+public final class Simulation {
+
+    /** Games played by one leaf task before it stops splitting */
+    static final long GAMES_PER_LEAF = 10_000;
+
+    private Simulation() {
+    }
+
+    public static SimulationStats run(List<Strategy> lineup, long games, long seed) {
+        return run(lineup, games, seed, ForkJoinPool.commonPool());
+    }
+
+    public static SimulationStats run(List<Strategy> lineup, long games, long seed, ForkJoinPool pool) {
+        if (games < 0) throw new IllegalArgumentException("Number of games cannot be negative");
+        return pool.invoke(new SimulationTask(List.copyOf(lineup), seed, 0, games));
+    }
+
+    private static final class SimulationTask extends RecursiveTask<SimulationStats> {
+        private final List<Strategy> lineup;
+        private final long seed;
+        private final long from;
+        private final long to;
+
+        SimulationTask(List<Strategy> lineup, long seed, long from, long to) {
+            this.lineup = lineup;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimulationStats compute() {
+            if (to - from <= GAMES_PER_LEAF) {
+                return playBlock();
+            }
+            // split on a leaf boundary, so the blocks (and their seeds) never depend on the pool
+            long leaves = (to - from + GAMES_PER_LEAF - 1) / GAMES_PER_LEAF;
+            long middle = from + (leaves / 2) * GAMES_PER_LEAF;
+            SimulationTask left = new SimulationTask(lineup, seed, from, middle);
+            SimulationTask right = new SimulationTask(lineup, seed, middle, to);
+            left.fork();
+            SimulationStats result = right.compute();
+            return result.merge(left.join());
+        }
+
+        private SimulationStats playBlock() {
+            SimulationStats stats = new SimulationStats(lineup.stream().map(Strategy::name).toList());
+            SimulatedGame game = new SimulatedGame(lineup, new SplittableRandom(seed + from * 0x9E3779B97F4A7C15L));
+            for (long i = from; i < to; i++) {
+                game.play((int) (i % lineup.size()), stats);
+            }
+            return stats;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package nl.hva.ewa.regenwormen.simulation;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Command-line entry point of the simulator.
+ *
+ * <pre>
+ * mvn -q compile exec:java -Dexec.mainClass=nl.hva.ewa.regenwormen.simulation.SimulationRunner \
+ *     -Dexec.args="--games 1000000 --strategies cautious,threshold:28 --seed 42 --threads 8"
+ * </pre>
+ */
+public final class SimulationRunner {
+
+    private SimulationRunner() {
+    }
+
+    public static void main(String[] args) {
+        long games = 100_000;
+        String strategies = "cautious,threshold:28";
+        long seed = System.nanoTime();
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--games" -> { games = Long.parseLong(value); i++; }
+                case "--strategies" -> { strategies = value; i++; }
+                case "--seed" -> { seed = Long.parseLong(value); i++; }
+                case "--threads" -> { threads = Integer.parseInt(value); i++; }
+                default -> {
+                    System.err.println("Unknown option: " + args[i]);
+                    System.err.println("Options: --games N --strategies a,b,... --seed S --threads T");
+                    System.exit(1);
+                }
+            }
+        }
+
+        List<Strategy> lineup = Strategies.byNames(strategies);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            long start = System.nanoTime();
+            SimulationStats stats = Simulation.run(lineup, games, seed, pool);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            print(stats, seed, threads, seconds);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void print(SimulationStats stats, long seed, int threads, double seconds) {
+        System.out.printf("🎲 %,d games in %.2fs on %d threads (%,.0f games/s), seed %d%n",
+                stats.getGames(), seconds, threads, stats.getGames() / seconds, seed);
+        for (int i = 0; i < stats.getStrategyNames().size(); i++) {
+            System.out.printf("   %-16s wins %6.2f%%%n", stats.getStrategyNames().get(i), stats.winRate(i) * 100);
+        }
+        System.out.printf("   avg game length  %.1f turns (%.1f rounds)%n",
+                stats.averageTurns(), stats.averageTurns() / stats.getStrategyNames().size());
+        System.out.printf("   bust rate        %.2f%% of turns%n", stats.bustRate() * 100);
+        System.out.printf("   steals           %.2f per game%n",
+                stats.getGames() == 0 ? 0 : (double) stats.getSteals() / stats.getGames());
+        if (stats.getUnfinished() > 0) {
+            System.out.printf("   unfinished       %,d games hit the %d turn limit%n",
+                    stats.getUnfinished(), SimulatedGame.MAX_TURNS);
+        }
+    }
+}
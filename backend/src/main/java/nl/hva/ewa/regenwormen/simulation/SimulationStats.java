@@ -0,0 +1,63 @@
+package nl.hva.ewa.regenwormen.simulation;
+
+import java.util.List;
+
+/**
+ * Totals of a batch of simulated games. Every fork-join leaf fills its own instance;
+ * the results are merged on the way back up.
+ */
+public class SimulationStats {
+    private final List<String> strategyNames;
+    private final long[] wins;
+    private long games;
+    private long unfinished;
+    private long turns;
+    private long busts;
+    private long steals;
+
+    public SimulationStats(List<String> strategyNames) {
+        this.strategyNames = List.copyOf(strategyNames);
+        this.wins = new long[strategyNames.size()];
+    }
+
+    void recordGame(int winningStrategy, int turns, int busts, int steals, boolean finished) {
+        games++;
+        wins[winningStrategy]++;
+        this.turns += turns;
+        this.busts += busts;
+        this.steals += steals;
+        if (!finished) unfinished++;
+    }
+
+    SimulationStats merge(SimulationStats other) {
+        games += other.games;
+        unfinished += other.unfinished;
+        turns += other.turns;
+        busts += other.busts;
+        steals += other.steals;
+        for (int i = 0; i < wins.length; i++) wins[i] += other.wins[i];
+        return this;
+    }
+
+    public List<String> getStrategyNames() { return strategyNames; }
+    public long getGames() { return games; }
+    public long getUnfinished() { return unfinished; }
+    public long getTurns() { return turns; }
+    public long getBusts() { return busts; }
+    public long getSteals() { return steals; }
+    public long getWins(int strategy) { return wins[strategy]; }
+
+    public double winRate(int strategy) {
+        return games == 0 ? 0 : (double) wins[strategy] / games;
+    }
+
+    /** Average number of turns (all players together) per game */
+    public double averageTurns() {
+        return games == 0 ? 0 : (double) turns / games;
+    }
+
+    /** Share of turns that ended in a bust */
+    public double bustRate() {
+        return turns == 0 ? 0 : (double) busts / turns;
+    }
+}
@@ -0,0 +1,105 @@
+package nl.hva.ewa.regenwormen.simulation;
+
+import nl.hva.ewa.regenwormen.domain.Diceroll;
+import nl.hva.ewa.regenwormen.domain.Enum.DiceFace;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Built-in scripted strategies.
+ * <ul>
+ *     <li>{@code cautious} – stops as soon as it can take a tile</li>
+ *     <li>{@code threshold:N} – keeps rolling until it can take a tile with a score of at least N</li>
+ *     <li>{@code random} – random pickable face, stops half of the time</li>
+ * </ul>
+ */
+public final class Strategies {
+
+    private static final DiceFace[] FACES = DiceFace.values();
+
+    private Strategies() {
+    }
+
+    public static Strategy cautious() {
+        return threshold("cautious", 0);
+    }
+
+    public static Strategy threshold(int target) {
+        return threshold("threshold:" + target, target);
+    }
+
+    public static Strategy random() {
+        return new Strategy() {
+            @Override
+            public String name() { return "random"; }
+
+            @Override
+            public DiceFace pickFace(Diceroll roll, SimulatedGame game) {
+                List<DiceFace> options = roll.getPickableFaces();
+                return options.get(game.random().nextInt(options.size()));
+            }
+
+            @Override
+            public boolean stop(Diceroll roll, SimulatedGame game) {
+                return game.random().nextBoolean();
+            }
+        };
+    }
+
+    /** Parses a strategy name as used on the command line, e.g. {@code threshold:28} */
+    public static Strategy byName(String name) {
+        String trimmed = name.trim();
+        if (trimmed.equals("cautious")) return cautious();
+        if (trimmed.equals("random")) return random();
+        if (trimmed.startsWith("threshold:")) {
+            return threshold(Integer.parseInt(trimmed.substring("threshold:".length())));
+        }
+        throw new IllegalArgumentException("Unknown strategy: " + name);
+    }
+
+    public static List<Strategy> byNames(String commaSeparated) {
+        List<Strategy> strategies = new ArrayList<>();
+        for (String name : commaSeparated.split(",")) strategies.add(byName(name));
+        return strategies;
+    }
+
+    /**
+     * Worm first when none is kept yet, otherwise the face that adds the most points
+     * (on a tie the face that uses fewer dice).
+     */
+    static DiceFace bestScoringFace(Diceroll roll) {
+        if (!roll.hasSpecial() && roll.countOf(DiceFace.SPECIAL) > 0 && !roll.isChosen(DiceFace.SPECIAL)) {
+            return DiceFace.SPECIAL;
+        }
+        DiceFace best = null;
+        int bestPoints = -1;
+        for (DiceFace face : FACES) {
+            int count = roll.countOf(face);
+            if (count == 0 || roll.isChosen(face)) continue;
+            int points = count * face.getPoints();
+            if (points > bestPoints || (points == bestPoints && count < roll.countOf(best))) {
+                best = face;
+                bestPoints = points;
+            }
+        }
+        return best;
+    }
+
+    private static Strategy threshold(String name, int target) {
+        return new Strategy() {
+            @Override
+            public String name() { return name; }
+
+            @Override
+            public DiceFace pickFace(Diceroll roll, SimulatedGame game) {
+                return bestScoringFace(roll);
+            }
+
+            @Override
+            public boolean stop(Diceroll roll, SimulatedGame game) {
+                return roll.getTakenScore() >= target;
+            }
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package nl.hva.ewa.regenwormen.simulation;
+
+import nl.hva.ewa.regenwormen.domain.Diceroll;
+import nl.hva.ewa.regenwormen.domain.Enum.DiceFace;
+
+/**
+ * Decision rules of a (scripted) player.
+ * Implementations must be stateless: one instance is shared by all simulation threads.
+ */
+public interface Strategy {
+
+    String name();
+
+    /** Face to keep from the current roll; only asked when {@code roll} has pickable faces */
+    DiceFace pickFace(Diceroll roll, SimulatedGame game);
+
+    /** Stop now and take a tile (true) or roll again (false); only asked when stopping is allowed */
+    boolean stop(Diceroll roll, SimulatedGame game);
+}
@@ -0,0 +1,167 @@
+package nl.hva.ewa.regenwormen.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import nl.hva.ewa.regenwormen.scheduling.TimingWheel;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CoalescingSessionDecoratorTest {
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final Counter coalesced = meters.counter("coalesced");
+    private final Counter slow = meters.counter("slow");
+    private final ExecutorService flusher = Executors.newVirtualThreadPerTaskExecutor();
+    private final TimingWheel timers = new TimingWheel(5, TimeUnit.MILLISECONDS, 64, Runnable::run);
+    private final AtomicLong now = new AtomicLong(1_000);
+
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+    private final CountDownLatch firstSendStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseFirstSend = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        releaseFirstSend.countDown();
+        flusher.shutdownNow();
+        timers.stop();
+    }
+
+    /** A client whose first write hangs until released */
+    private WebSocketSession slowClient() throws Exception {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.isOpen()).thenReturn(true);
+        when(session.getId()).thenReturn("s1");
+        doAnswer(invocation -> {
+            WebSocketMessage<?> message = invocation.getArgument(0);
+            if (sent.isEmpty()) {
+                firstSendStarted.countDown();
+                releaseFirstSend.await(2, TimeUnit.SECONDS);
+            }
+            sent.add(((TextMessage) message).getPayload());
+            return null;
+        }).when(session).sendMessage(any());
+        return session;
+    }
+
+    private static TextMessage frame(String destination, String body) {
+        return new TextMessage("MESSAGE\ndestination:" + destination + "\nsubscription:sub-0\n"
+                + "message-id:m\ncontent-length:" + body.length() + "\n\n" + body + "\0");
+    }
+
+    private CoalescingSessionDecorator decorate(WebSocketSession session, int bufferLimit) {
+        return decorate(session, 5000, bufferLimit);
+    }
+
+    private CoalescingSessionDecorator decorate(WebSocketSession session, long sendTimeLimit, int bufferLimit) {
+        return new CoalescingSessionDecorator(session, sendTimeLimit, bufferLimit, flusher, timers, coalesced, slow,
+                now::get);
+    }
+
+    private void awaitSent(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (sent.size() < count && System.nanoTime() < deadline) Thread.sleep(5);
+        Thread.sleep(20);
+    }
+
+    @Test
+    void queuedGameState_isReplacedByTheNewest_otherFramesAreKept() throws Exception {
+        CoalescingSessionDecorator session = decorate(slowClient(), 64 * 1024);
+
+        session.sendMessage(frame("/topic/game/g1", "v1"));
+        assertTrue(firstSendStarted.await(2, TimeUnit.SECONDS));
+        session.sendMessage(frame("/topic/game/g1", "v2"));
+        session.sendMessage(frame("/topic/game/g1/message", "hello"));
+        session.sendMessage(frame("/topic/game/g1", "v3"));
+        session.sendMessage(frame("/topic/game/g1", "v4"));
+        releaseFirstSend.countDown();
+        awaitSent(3);
+
+        assertEquals(3, sent.size());
+        assertTrue(sent.get(0).endsWith("v1\0"));
+        assertTrue(sent.get(1).endsWith("v4\0"));
+        assertTrue(sent.get(2).endsWith("hello\0"));
+        assertEquals(2, coalesced.count());
+    }
+
+    @Test
+    void sendTakingTooLong_closesTheSessionAsNotReliable() throws Exception {
+        CoalescingSessionDecorator session = decorate(slowClient(), 64 * 1024);
+
+        session.sendMessage(frame("/topic/game/g1", "v1"));
+        assertTrue(firstSendStarted.await(2, TimeUnit.SECONDS));
+        now.addAndGet(5001);
+
+        SessionLimitExceededException ex = assertThrows(SessionLimitExceededException.class,
+                () -> session.sendMessage(frame("/topic/game/g1/timer", "t")));
+        assertEquals(CloseStatus.SESSION_NOT_RELIABLE, ex.getStatus());
+        assertEquals(1, slow.count());
+
+        // already cut off: later frames are dropped quietly
+        session.sendMessage(frame("/topic/game/g1/timer", "t"));
+        assertEquals(1, slow.count());
+    }
+
+    @Test
+    void stalledSend_isClosedByTheTimer_withoutAnotherFrame() throws Exception {
+        WebSocketSession client = slowClient();
+        CoalescingSessionDecorator session = decorate(client, 50, 64 * 1024);
+
+        session.sendMessage(frame("/topic/game/g1", "v1"));
+        assertTrue(firstSendStarted.await(2, TimeUnit.SECONDS));
+
+        verify(client, timeout(1000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertEquals(1, slow.count());
+    }
+
+    @Test
+    void sendWithinTheLimit_keepsTheSession() throws Exception {
+        WebSocketSession client = slowClient();
+        CoalescingSessionDecorator session = decorate(client, 200, 64 * 1024);
+
+        session.sendMessage(frame("/topic/game/g1", "v1"));
+        releaseFirstSend.countDown();
+        awaitSent(1);
+        Thread.sleep(300);
+
+        verify(client, never()).close(any());
+        assertEquals(0, slow.count());
+    }
+
+    @Test
+    void bufferOverLimit_closesTheSessionAsNotReliable() throws Exception {
+        CoalescingSessionDecorator session = decorate(slowClient(), 300);
+
+        session.sendMessage(frame("/topic/game/g1", "v1"));
+        assertTrue(firstSendStarted.await(2, TimeUnit.SECONDS));
+        String chat = "x".repeat(100);
+
+        session.sendMessage(frame("/topic/game/g1/message", chat));
+        assertThrows(SessionLimitExceededException.class,
+                () -> session.sendMessage(frame("/topic/game/g1/message", chat)));
+        assertEquals(1, slow.count());
+    }
+
+    @Test
+    void stateKey_onlyForGameStateMessages() {
+        assertEquals("/topic/game/g1|sub-0", CoalescingSessionDecorator.stateKey(frame("/topic/game/g1", "{}")));
+        assertNull(CoalescingSessionDecorator.stateKey(frame("/topic/game/g1/timer", "{}")));
+        assertNull(CoalescingSessionDecorator.stateKey(frame("/topic/lobby/l1", "{}")));
+        assertNull(CoalescingSessionDecorator.stateKey(new TextMessage("CONNECTED\nversion:1.2\n\n\0")));
+    }
+}
@@ -0,0 +1,96 @@
+package nl.hva.ewa.regenwormen.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCompressionFilterTest {
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final ResponseCompressionFilter filter = new ResponseCompressionFilter(meters, true, 1024, 5,
+            List.of("application/json", "text/plain"));
+
+    /** A history list: many alike entries, like the real ones */
+    private static byte[] history(int entries) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < entries; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"gameId\":\"g").append(i).append("\",\"points\":").append(i % 17)
+                    .append(",\"winner\":false,\"players\":[\"alice\",\"bob\",\"carol\"]}");
+        }
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private MockHttpServletResponse get(String path, String acceptEncoding, String type, byte[] body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setRequestURI(path);
+        if (acceptEncoding != null) request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            res.setContentType(type);
+            ((HttpServletResponse) res).setHeader(HttpHeaders.ETAG, "\"7\"");
+            res.setContentLength(body.length);
+            res.getOutputStream().write(body);
+        };
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    @Test
+    void largeJson_isGzipped() throws Exception {
+        byte[] body = history(200);
+
+        MockHttpServletResponse response = get("/api/history/alice", "gzip, deflate, br", MediaType.APPLICATION_JSON_VALUE, body);
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("W/\"7\"", response.getHeader(HttpHeaders.ETAG));
+        byte[] sent = response.getContentAsByteArray();
+        assertEquals(sent.length, response.getContentLength());
+        assertTrue(sent.length * 5 < body.length, sent.length + " of " + body.length + " bytes");
+        assertArrayEquals(body, new GZIPInputStream(new ByteArrayInputStream(sent)).readAllBytes());
+
+        assertEquals(body.length, meters.counter("regenwormen.http.compression.bytes.in").count());
+        assertEquals(body.length - sent.length, meters.counter("regenwormen.http.compression.bytes.saved").count());
+        assertEquals(1, meters.timer("regenwormen.http.compression.time").count());
+    }
+
+    @Test
+    void smallAnswer_goesOutAsItIs() throws Exception {
+        byte[] body = history(2);
+
+        MockHttpServletResponse response = get("/api/users", "gzip", MediaType.APPLICATION_JSON_VALUE, body);
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(body, response.getContentAsByteArray());
+        assertEquals(body.length, response.getContentLength());
+        assertEquals(0, meters.timer("regenwormen.http.compression.time").count());
+    }
+
+    @Test
+    void onlyForClientsThatAcceptGzip() throws Exception {
+        byte[] body = history(200);
+
+        assertNull(get("/api/users", null, MediaType.APPLICATION_JSON_VALUE, body).getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertNull(get("/api/users", "gzip;q=0, br", MediaType.APPLICATION_JSON_VALUE, body).getHeader(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void imagesAndWebSocket_areLeftAlone() throws Exception {
+        byte[] body = history(200);
+
+        assertNull(get("/api/users", "gzip", MediaType.IMAGE_PNG_VALUE, body).getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertNull(get("/ws/info", "gzip", MediaType.APPLICATION_JSON_VALUE, body).getHeader(HttpHeaders.CONTENT_ENCODING));
+    }
+}
@@ -0,0 +1,103 @@
+package nl.hva.ewa.regenwormen.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import nl.hva.ewa.regenwormen.domain.Game;
+import nl.hva.ewa.regenwormen.domain.Player;
+import nl.hva.ewa.regenwormen.domain.dto.TurnView;
+import nl.hva.ewa.regenwormen.domain.dto.Versioned;
+import nl.hva.ewa.regenwormen.service.GamePayloadCache;
+import nl.hva.ewa.regenwormen.service.IdempotencyCache;
+import nl.hva.ewa.regenwormen.service.InGameService;
+import nl.hva.ewa.regenwormen.service.PresenceService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class InGameControllerTest {
+
+    private final InGameService service = mock(InGameService.class);
+    private MockMvc mockMvc;
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        game = new Game("Room", 2);
+        game.addPlayer(new Player("A"));
+        game.addPlayer(new Player("B"));
+        game.startGame(3L);
+        game.commit();
+        when(service.getSnapshot(game.getId())).thenReturn(game.getSnapshot());
+        when(service.versioned(any(), any())).thenAnswer(call ->
+                new Versioned<>(call.<Supplier<?>>getArgument(1).get(), game.getVersion()));
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new InGameController(service, new IdempotencyCache(60, 256),
+                mock(PresenceService.class), new GamePayloadCache(new ObjectMapper()))).build();
+    }
+
+    @Test
+    void gameState_isJsonByDefault() throws Exception {
+        mockMvc.perform(get("/ingame/" + game.getId()).accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.id").value(game.getId()));
+    }
+
+    @Test
+    void gameState_asCborOnRequest() throws Exception {
+        byte[] body = mockMvc.perform(get("/ingame/" + game.getId()).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("Vary", "Accept"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode snapshot = new CBORMapper().readTree(body);
+        assertEquals(game.getId(), snapshot.get("id").asText());
+        assertEquals("PLAYING", snapshot.get("gameState").asText());
+    }
+
+    @Test
+    void commandAnswer_asCborOnRequest() throws Exception {
+        Player player = game.getCurrentPlayer();
+        when(service.reRoll(any(), any(), any())).thenReturn(TurnView.bust(player));
+
+        byte[] body = mockMvc.perform(post("/ingame/" + game.getId() + "/reroll/" + player.getName())
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        TurnView view = new CBORMapper().readValue(body, TurnView.class);
+        assertEquals(player.getId(), view.playerId());
+        assertTrue(view.busted());
+    }
+
+    @Test
+    void retriedCommand_getsTheOriginalVersion() throws Exception {
+        Player player = game.getCurrentPlayer();
+        when(service.reRoll(any(), any(), any())).thenReturn(TurnView.bust(player));
+        String etag = "\"" + game.getVersion() + "\"";
+
+        mockMvc.perform(post("/ingame/" + game.getId() + "/reroll/" + player.getName()).header("Idempotency-Key", "k1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag));
+        game.commit(); // the game moved on before the retry came in
+
+        mockMvc.perform(post("/ingame/" + game.getId() + "/reroll/" + player.getName()).header("Idempotency-Key", "k1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag));
+    }
+}
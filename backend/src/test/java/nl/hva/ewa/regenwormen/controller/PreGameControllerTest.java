@@ -0,0 +1,69 @@
+package nl.hva.ewa.regenwormen.controller;
+
+import nl.hva.ewa.regenwormen.domain.Game;
+import nl.hva.ewa.regenwormen.service.BotService;
+import nl.hva.ewa.regenwormen.service.PreGameService;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class PreGameControllerTest {
+
+    private final PreGameService service = mock(PreGameService.class);
+    private final BotService bots = mock(BotService.class);
+
+    private MockMvc mvc(boolean clientSeeds) {
+        return mvc(clientSeeds, true);
+    }
+
+    private MockMvc mvc(boolean clientSeeds, boolean botGames) {
+        return MockMvcBuilders.standaloneSetup(new PreGameController(service, bots, clientSeeds, botGames)).build();
+    }
+
+    @Test
+    void start_refusesAClientSeed() throws Exception {
+        mvc(false).perform(post("/pregame/abc123/start").param("seed", "42"))
+                .andExpect(status().isForbidden());
+
+        verify(service, never()).startGameByIdOrLobby(any(), any());
+    }
+
+    @Test
+    void start_withoutSeed() throws Exception {
+        when(service.startGameByIdOrLobby(eq("abc123"), isNull())).thenReturn(new Game("Room", 2));
+
+        mvc(false).perform(post("/pregame/abc123/start")).andExpect(status().isOk());
+    }
+
+    @Test
+    void start_takesTheSeedWhenSwitchedOn() throws Exception {
+        when(service.startGameByIdOrLobby(eq("abc123"), anyLong())).thenReturn(new Game("Room", 2));
+
+        mvc(true).perform(post("/pregame/abc123/start").param("seed", "42")).andExpect(status().isOk());
+
+        verify(service).startGameByIdOrLobby("abc123", 42L);
+    }
+
+    @Test
+    void botGames_areOffByDefault() throws Exception {
+        mvc(false, false).perform(post("/pregame/bots")).andExpect(status().isNotFound());
+
+        verify(bots, never()).startBotGame(anyInt(), any());
+    }
+
+    @Test
+    void botGames_refuseAClientSeed() throws Exception {
+        mvc(false).perform(post("/pregame/bots").param("seed", "42")).andExpect(status().isForbidden());
+
+        verify(bots, never()).startBotGame(anyInt(), any());
+    }
+}
@@ -7,12 +7,14 @@ import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Field;
 import java.util.*;
+import java.util.random.RandomGenerator;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * Updated test for Diceroll (compatible with latest backend).
  * - Replaced getChosenDices() → getChosenFaces()
  * - Removed references to private/removed methods like hasUntakenDice(), canRollPreCheck()
+ * - Dice are no longer objects: state is set through the counters/masks, rolls through a fixed random source
  */
 class DicerollTest {
 
@@ -32,32 +34,34 @@ class DicerollTest {
         return DiceFace.SPECIAL;
     }
 
-    static class FixedDice extends Dice {
-        private DiceFace face;
-        private int points;
-        private boolean taken;
+    /** Random source that returns the given faces in order (one per rolled die) */
+    static class FixedRandom implements RandomGenerator {
+        private final DiceFace[] faces;
+        private int next = 0;
 
-        FixedDice(DiceFace face, int points, boolean taken) {
-            super();
-            this.face = face;
-            this.points = points;
-            this.taken = taken;
+        FixedRandom(DiceFace... faces) {
+            this.faces = faces;
         }
 
         @Override
-        public void roll() { /* fixed dice */ }
+        public int nextInt(int bound) { return faces[next++].ordinal(); }
 
         @Override
-        public DiceFace getDiceState() { return face; }
-
-        @Override
-        public int getPoints() { return points; }
+        public long nextLong() { throw new UnsupportedOperationException(); }
+    }
 
-        @Override
-        public boolean isTaken() { return taken; }
+    private static int mask(DiceFace... faces) {
+        int mask = 0;
+        for (DiceFace f : faces) mask |= 1 << f.ordinal();
+        return mask;
+    }
 
-        @Override
-        public void take() { this.taken = true; }
+    /** Puts the given faces on the table as the most recent roll */
+    private void setLastRoll(DiceFace... faces) {
+        int[] counts = new int[DiceFace.values().length];
+        for (DiceFace f : faces) counts[f.ordinal()]++;
+        setField(dr, "faceCounts", counts);
+        setField(dr, "rolledMask", mask(faces));
     }
 
     private static void setField(Object target, String fieldName, Object value) {
@@ -104,13 +108,8 @@ class DicerollTest {
     void rollRemainingDice_sets_options_and_goes_to_MUST_PICK() {
         DiceFace other = anyNonSpecial();
 
-        List<Dice> pool = new ArrayList<>();
-        pool.add(new FixedDice(other, 2, false));
-        pool.add(new FixedDice(other, 2, false));
-        pool.add(new FixedDice(DiceFace.SPECIAL, 5, false));
-        for (int i = 0; i < 5; i++) pool.add(new FixedDice(other, 2, true));
-
-        setField(dr, "dices", pool);
+        setField(dr, "remainingDice", 3);
+        setField(dr, "random", new FixedRandom(other, other, DiceFace.SPECIAL));
 
         List<DiceFace> options = dr.rollRemainingDice();
 
@@ -123,14 +122,9 @@ class DicerollTest {
     @Test
     void pickDice_end_without_special_results_in_bust() {
         DiceFace other = anyNonSpecial();
-        FixedDice d = new FixedDice(other, 2, false);
-
-        List<Dice> pool = new ArrayList<>();
-        pool.add(d);
-        for (int i = 0; i < 7; i++) pool.add(new FixedDice(other, 2, true));
 
-        setField(dr, "dices", pool);
-        setField(dr, "lastRoll", new ArrayList<>(List.of(d)));
+        setField(dr, "remainingDice", 1);
+        setLastRoll(other);
         setField(dr, "turnState", TurnState.MUST_PICK);
 
         dr.pickDice(other);
@@ -144,13 +138,9 @@ class DicerollTest {
     void pickDice_throws_if_face_already_chosen() {
         DiceFace other = anyNonSpecial();
 
-        FixedDice d = new FixedDice(other, 2, false);
-        setField(dr, "lastRoll", new ArrayList<>(List.of(d)));
+        setLastRoll(other);
         setField(dr, "turnState", TurnState.MUST_PICK);
-
-        Set<DiceFace> chosen = EnumSet.noneOf(DiceFace.class);
-        chosen.add(other);
-        setField(dr, "chosenFaces", chosen);
+        setField(dr, "chosenMask", mask(other));
 
         assertThrows(IllegalStateException.class, () -> dr.pickDice(other),
                 "You already picked " + other);
@@ -161,9 +151,7 @@ class DicerollTest {
         DiceFace wanted = anyNonSpecial();
         DiceFace present = DiceFace.SPECIAL;
 
-        FixedDice s = new FixedDice(present, 5, false);
-
-        setField(dr, "lastRoll", new ArrayList<>(List.of(s)));
+        setLastRoll(present);
         setField(dr, "turnState", TurnState.MUST_PICK);
 
         assertThrows(IllegalStateException.class, () -> dr.pickDice(wanted),
@@ -174,17 +162,9 @@ class DicerollTest {
     void rollRemainingDice_busts_when_no_options() {
         DiceFace other = anyNonSpecial();
 
-        FixedDice a = new FixedDice(other, 2, false);
-        FixedDice b = new FixedDice(other, 2, false);
-
-        List<Dice> pool = new ArrayList<>();
-        pool.add(a);
-        pool.add(b);
-        for (int i = 0; i < 6; i++) pool.add(new FixedDice(other, 2, true));
-        setField(dr, "dices", pool);
-
-        Set<DiceFace> chosen = EnumSet.of(other);
-        setField(dr, "chosenFaces", chosen);
+        setField(dr, "remainingDice", 2);
+        setField(dr, "random", new FixedRandom(other, other));
+        setField(dr, "chosenMask", mask(other));
 
         List<DiceFace> options = dr.rollRemainingDice();
 
@@ -203,11 +183,8 @@ class DicerollTest {
     @Test
     void getFullThrow_groups_all_faces_from_lastRoll() {
         DiceFace other = anyNonSpecial();
-        FixedDice a = new FixedDice(other, 2, false);
-        FixedDice b = new FixedDice(other, 2, false);
-        FixedDice s = new FixedDice(DiceFace.SPECIAL, 5, false);
 
-        setField(dr, "lastRoll", new ArrayList<>(Arrays.asList(a, b, s)));
+        setLastRoll(other, other, DiceFace.SPECIAL);
 
         Map<DiceFace, Long> map = dr.getFullThrow();
         assertEquals(2L, map.get(other));
@@ -218,13 +195,15 @@ class DicerollTest {
     @Test
     void getTakenScore_sums_only_taken_dice_points() {
         DiceFace other = anyNonSpecial();
-        FixedDice taken1 = new FixedDice(other, 2, true);
-        FixedDice taken2 = new FixedDice(DiceFace.SPECIAL, 5, true);
-        FixedDice notTaken = new FixedDice(other, 2, false);
 
-        List<Dice> pool = Arrays.asList(taken1, taken2, notTaken);
-        setField(dr, "dices", new ArrayList<>(pool));
+        setField(dr, "random", new FixedRandom(other, DiceFace.SPECIAL, other, other, other, other, other, other));
+        dr.rollRemainingDice();
+        dr.pickDice(DiceFace.SPECIAL);                 // 1 × 5
+        setField(dr, "random", new FixedRandom(other, other, other, other, other, other, other));
+        dr.rollRemainingDice();
+        dr.pickDice(other);                            // 7 × other
 
-        assertEquals(7, dr.getTakenScore());
+        assertEquals(5 + 7 * other.getPoints(), dr.getTakenScore());
+        assertEquals(0, dr.getRemainingDiceCount());
     }
 }
@@ -2,6 +2,7 @@ package nl.hva.ewa.regenwormen.domain;
 
 import nl.hva.ewa.regenwormen.domain.Enum.GameState;
 import nl.hva.ewa.regenwormen.domain.Enum.DiceFace;
+import nl.hva.ewa.regenwormen.domain.dto.GameSnapshot;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -148,6 +149,50 @@ class GameTest {
         assertEquals(Integer.valueOf(0), getField(game, "round"));
     }
 
+    @Test
+    void startGame_with_recorded_seed_replays_the_same_dice() {
+        Game first = new Game("Replay", 2);
+        first.addPlayer(new Player("A"));
+        first.addPlayer(new Player("B"));
+        first.startGame(42L);
+
+        Game replay = new Game("Replay", 2);
+        replay.addPlayer(new Player("A"));
+        replay.addPlayer(new Player("B"));
+        replay.startGame(first.getSeed());
+
+        for (int turn = 0; turn < 5; turn++) {
+            assertEquals(first.startAndRollRound().fullThrow(), replay.startAndRollRound().fullThrow());
+            first.forceNextPlayer();
+            replay.forceNextPlayer();
+        }
+    }
+
+    @Test
+    void commit_publishes_new_version_and_old_snapshot_stays_unchanged() {
+        Player a = new Player("A");
+        game.addPlayer(a);
+        game.addPlayer(new Player("B"));
+        game.startGame(1L);
+
+        GameSnapshot before = game.commit();
+        Tile claimed = game.getTilesPot().findTileByValue(21);
+        a.addTile(claimed);
+        game.setNextPlayersTurn();
+
+        assertSame(before, game.getSnapshot());
+        assertEquals(0, before.players().get(0).points());
+        assertTrue(before.tilesPot().tiles().get(0).availableInPot());
+
+        GameSnapshot after = game.commit();
+        assertEquals(before.version() + 1, after.version());
+        assertEquals(after.version(), game.getVersion());
+        assertEquals(1, after.turnIndex());
+        assertEquals(1, after.players().get(0).points());
+        assertEquals(21, after.players().get(0).topTile().value());
+        assertFalse(after.tilesPot().tiles().get(0).availableInPot());
+    }
+
     @Test
     void startGame_too_few_players_throws() {
         game.addPlayer(new StubPlayer("1", "A"));
@@ -2,10 +2,19 @@ package nl.hva.ewa.regenwormen.domain;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Random;
+
 import static org.assertj.core.api.Assertions.*;
 
 class PlayerTest {
 
+    /** Full recount of a player's worms, the way getPoints() used to compute it */
+    private static int recount(Player p) {
+        return p.getOwnedTiles().stream()
+                .mapToInt(t -> t.getValue() == p.getDoublePointsTile() ? t.getPoints() * 2 : t.getPoints())
+                .sum();
+    }
+
     @Test
     void constructor_setsIdAndName_andValidatesLength() {
         Player p = new Player("Alice");
@@ -81,4 +90,34 @@ class PlayerTest {
         assertThatThrownBy(() -> p.setName("ABCDEFGHIJKLMNOPQ"))
                 .isInstanceOf(IllegalArgumentException.class);
     }
+
+    @Test
+    void points_alwaysMatchFullRecount() {
+        Random random = new Random(7);
+        for (int game = 0; game < 50; game++) {
+            TilesPot pot = new TilesPot();
+            Player p = new Player("Ivy");
+
+            for (int step = 0; step < 40; step++) {
+                switch (random.nextInt(4)) {
+                    case 0 -> {
+                        Tile t = pot.findTileByValue(21 + random.nextInt(16));
+                        if (t.isAvailableInPot()) p.addTile(t);
+                    }
+                    case 1 -> {
+                        Tile top = p.getTopTile();
+                        if (top != null) {
+                            top.tileToPot();
+                            p.loseTopTileToStack();
+                        }
+                    }
+                    case 2 -> p.setDoublePointsTile(21 + random.nextInt(16));
+                    default -> {
+                        if (random.nextInt(10) == 0) p.returnAllTilesToPot();
+                    }
+                }
+                assertThat(p.getPoints()).isEqualTo(recount(p));
+            }
+        }
+    }
 }
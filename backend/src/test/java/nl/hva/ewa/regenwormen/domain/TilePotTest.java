@@ -100,4 +100,39 @@ class TilesPotTest {
         // ✅ FIXED: expect the player ID, not the player object
         assertThat(same.getOwner()).isEqualTo(p.getId());
     }
+
+    @Test
+    void findHighestAvailableTileAtOrBelow_andFindExactTile_skipUnavailableTiles() {
+        TilesPot pot = new TilesPot();
+        Player p = new Player("Fay");
+
+        pot.findTileByValue(27).takeTile(p);
+        pot.findTileByValue(26).flip();
+
+        assertThat(pot.findHighestAvailableTileAtOrBelow(27).getValue()).isEqualTo(25);
+        assertThat(pot.findHighestAvailableTileAtOrBelow(40).getValue()).isEqualTo(36);
+        assertThat(pot.findHighestAvailableTileAtOrBelow(20)).isNull();
+        assertThat(pot.findExactTile(27)).isNull();
+        assertThat(pot.findExactTile(28).getValue()).isEqualTo(28);
+        assertThat(pot.findExactTile(37)).isNull();
+
+        pot.findTileByValue(27).tileToPot();
+        assertThat(pot.findExactTile(27)).isNotNull();
+        assertThat(pot.amountAvailableTiles()).isEqualTo(15);
+    }
+
+    @Test
+    void resetTiles_makesEveryTileAvailableAgain() {
+        TilesPot pot = new TilesPot();
+        Tile old = pot.findTileByValue(36);
+        old.flip();
+        pot.getLowestAvailableTile().takeTile(new Player("Gus"));
+
+        pot.resetTiles();
+        old.tileToPot(); // detached tiles no longer affect the pot
+
+        assertThat(pot.amountAvailableTiles()).isEqualTo(16);
+        assertThat(pot.getLowestAvailableTileValue()).isEqualTo(21);
+        assertThat(pot.getHighestAvailableTileValue()).isEqualTo(36);
+    }
 }
@@ -0,0 +1,113 @@
+package nl.hva.ewa.regenwormen.domain.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nl.hva.ewa.regenwormen.domain.Diceroll;
+import nl.hva.ewa.regenwormen.domain.Enum.DiceFace;
+import nl.hva.ewa.regenwormen.domain.Game;
+import nl.hva.ewa.regenwormen.domain.Player;
+import nl.hva.ewa.regenwormen.domain.Tile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameDeltaTest {
+
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        game = new Game("Room", 6);
+        for (String name : List.of("A", "B", "C", "D", "E", "F")) game.addPlayer(new Player(name));
+        game.startGame(3L);
+        game.commit();
+    }
+
+    /** The current player takes the lowest tile on the table and the turn passes */
+    private GameSnapshot takeTileAndPassTurn() {
+        Tile tile = game.getTilesPot().getTiles().stream().filter(Tile::isAvailableInPot).findFirst().orElseThrow();
+        game.getCurrentPlayer().addTile(tile);
+        game.setNextPlayersTurn();
+        return game.commit();
+    }
+
+    @Test
+    void turn_sendsOnlyThePlayerTheTileAndTheTurn() {
+        GameSnapshot before = game.getSnapshot();
+        String taker = game.getCurrentPlayer().getId();
+        GameSnapshot after = takeTileAndPassTurn();
+
+        GameDelta delta = GameDelta.between(before, after);
+
+        assertNotNull(delta);
+        assertEquals(after.version(), delta.seq());
+        assertEquals(before.version(), delta.base());
+        assertEquals(List.of(taker), delta.players().stream().map(GameSnapshot.PlayerSnapshot::id).toList());
+        assertEquals(1, delta.tiles().size());
+        assertEquals(after.turnIndex(), delta.turnIndex());
+        assertNull(delta.playerOrder());
+    }
+
+    @Test
+    void turn_isAFractionOfTheFullSnapshot() throws Exception {
+        for (int i = 0; i < 8; i++) takeTileAndPassTurn();
+        GameSnapshot before = game.getSnapshot();
+        GameSnapshot after = takeTileAndPassTurn();
+
+        ObjectMapper json = new ObjectMapper();
+        int full = json.writeValueAsBytes(after).length;
+        int delta = json.writeValueAsBytes(GameDelta.between(before, after)).length;
+
+        assertTrue(delta * 5 < full, "delta " + delta + " bytes vs full " + full + " bytes");
+    }
+
+    @Test
+    void rollAndPick_sendOnlyTheDice() {
+        Diceroll roll = new Diceroll(new Random(7));
+        game.getCurrentPlayer().setStartTurn(roll);
+        GameSnapshot before = game.getSnapshot();
+        roll.rollRemainingDice();
+        Map<DiceFace, Long> thrown = roll.getFullThrow();
+        GameSnapshot rolled = game.commit();
+        roll.pickDice(roll.getPickableFaces().get(0));
+        GameSnapshot picked = game.commit();
+
+        GameDelta afterRoll = GameDelta.between(before, rolled);
+        GameDelta afterPick = GameDelta.between(rolled, picked);
+
+        assertEquals(game.getCurrentPlayer().getId(), afterRoll.dice().player());
+        assertEquals(thrown, afterRoll.dice().fullThrow());
+        assertNull(afterRoll.players());
+        assertNull(afterRoll.tiles());
+        assertEquals(roll.chosenMask(), afterPick.dice().chosenMask());
+        assertEquals(roll.getTakenScore(), afterPick.dice().takenScore());
+        assertNull(afterPick.turnIndex());
+    }
+
+    @Test
+    void playerLeaving_sendsTheNewOrder() {
+        GameSnapshot before = game.getSnapshot();
+        Player leaving = game.getPlayers().get(5);
+        game.leavePlayer(leaving.getId());
+
+        GameDelta delta = GameDelta.between(before, game.commit());
+
+        assertEquals(5, delta.playerOrder().size());
+        assertFalse(delta.playerOrder().contains(leaving.getId()));
+    }
+
+    @Test
+    void noDelta_withoutBaseOrAcrossStateChanges() {
+        GameSnapshot lobby = new Game("Lobby", 2).getSnapshot();
+        GameSnapshot before = game.getSnapshot();
+        GameSnapshot after = takeTileAndPassTurn();
+
+        assertNull(GameDelta.between(null, after));
+        assertNull(GameDelta.between(after, before));
+        assertNull(GameDelta.between(lobby, after));
+    }
+}
@@ -0,0 +1,75 @@
+package nl.hva.ewa.regenwormen.domain.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nl.hva.ewa.regenwormen.domain.Game;
+import nl.hva.ewa.regenwormen.domain.Player;
+import nl.hva.ewa.regenwormen.domain.Tile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing a six-player game halfway through as JSON: the live {@link Game} through its getters (what
+ * the pre-game endpoints still return), its {@link GameSnapshot} through Jackson's record support, and
+ * the snapshot through {@link GameSnapshotModule}. {@link #main} adds the GC profiler, so the allocation
+ * per write ({@code gc.alloc.rate.norm}) is reported next to the time.
+ * <p>
+ * Not part of the test run; start {@link #main} from the IDE (test classpath).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GameSnapshotBenchmark {
+
+    @Param({"game", "records", "module"})
+    String writer;
+
+    private ObjectMapper mapper;
+    private Object value;
+
+    @Setup
+    public void setUp() {
+        Game game = new Game("Room", 6);
+        for (String name : List.of("A", "B", "C", "D", "E", "F")) game.addPlayer(new Player(name));
+        game.startGame(3L);
+        for (int i = 0; i < 8; i++) {
+            Tile tile = game.getTilesPot().getTiles().stream().filter(Tile::isAvailableInPot).findFirst().orElseThrow();
+            game.getCurrentPlayer().addTile(tile);
+            game.setNextPlayersTurn();
+        }
+        game.commit();
+
+        mapper = "module".equals(writer) ? new ObjectMapper().registerModule(new GameSnapshotModule()) : new ObjectMapper();
+        value = "game".equals(writer) ? game : game.getSnapshot();
+    }
+
+    @Benchmark
+    public byte[] write() throws Exception {
+        return mapper.writeValueAsBytes(value);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(GameSnapshotBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
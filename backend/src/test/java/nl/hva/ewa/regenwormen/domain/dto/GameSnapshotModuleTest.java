@@ -0,0 +1,86 @@
+package nl.hva.ewa.regenwormen.domain.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nl.hva.ewa.regenwormen.domain.Diceroll;
+import nl.hva.ewa.regenwormen.domain.Game;
+import nl.hva.ewa.regenwormen.domain.Player;
+import nl.hva.ewa.regenwormen.domain.Tile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameSnapshotModuleTest {
+
+    private final ObjectMapper reflective = new ObjectMapper();
+    private final ObjectMapper written = new ObjectMapper().registerModule(new GameSnapshotModule());
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        game = new Game("Room", 6);
+        for (String name : List.of("A", "B", "C", "D", "E", "F")) game.addPlayer(new Player(name));
+    }
+
+    private GameSnapshot claimLowestTile() {
+        Tile tile = game.getTilesPot().getTiles().stream().filter(Tile::isAvailableInPot).findFirst().orElseThrow();
+        game.getCurrentPlayer().addTile(tile);
+        game.setNextPlayersTurn();
+        return game.commit();
+    }
+
+    private void assertSameJson(Object value) throws Exception {
+        assertEquals(reflective.writeValueAsString(value), written.writeValueAsString(value));
+    }
+
+    @Test
+    void lobby_withoutPotOrLeaderboard() throws Exception {
+        assertSameJson(game.commit());
+    }
+
+    @Test
+    void runningGame() throws Exception {
+        game.startGame(3L);
+        game.commit();
+        for (int i = 0; i < 8; i++) claimLowestTile();
+
+        assertSameJson(game.getSnapshot());
+    }
+
+    @Test
+    void midTurn_withDice() throws Exception {
+        game.startGame(3L);
+        Diceroll roll = new Diceroll(new Random(7));
+        game.getCurrentPlayer().setStartTurn(roll);
+        roll.rollRemainingDice();
+        roll.pickDice(roll.getPickableFaces().get(0));
+        GameSnapshot before = game.commit();
+        roll.rollRemainingDice();
+
+        assertSameJson(before);
+        assertSameJson(GameDelta.between(before, game.commit()));
+    }
+
+    @Test
+    void endedGame_withLeaderboard() throws Exception {
+        game.startGame(3L);
+        game.commit();
+        for (int i = 0; i < 5; i++) claimLowestTile();
+        game.endGame();
+
+        GameSnapshot ended = game.commit();
+        assertNotNull(ended.leaderboard());
+        assertSameJson(ended);
+    }
+
+    @Test
+    void delta_usesThePlayerAndTileSerializers() throws Exception {
+        game.startGame(3L);
+        GameSnapshot before = game.commit();
+
+        assertSameJson(GameDelta.between(before, claimLowestTile()));
+    }
+}
@@ -0,0 +1,33 @@
+package nl.hva.ewa.regenwormen.policy;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BustOddsTest {
+
+    @Test
+    void bustProbability_matchesClosedForm() {
+        // bust = every die shows an already chosen face: (chosen / 6) ^ dice
+        for (int dice = 1; dice <= 8; dice++) {
+            for (int mask = 0; mask < 63; mask++) {
+                double expected = Math.pow(Integer.bitCount(mask) / 6.0, dice);
+                assertEquals(expected, BustOdds.bustProbability(dice, mask), 1e-9, "dice=" + dice + " mask=" + mask);
+            }
+        }
+    }
+
+    @Test
+    void noRollPossible_isAlwaysABust() {
+        assertEquals(1.0, BustOdds.bustProbability(0, 0b000011));
+        assertEquals(1.0, BustOdds.bustProbability(3, 0b111111));
+        assertEquals(0.0, BustOdds.expectedGain(3, 0b111111));
+    }
+
+    @Test
+    void expectedGain_lastDieWithOnlyTheWormFree() {
+        // ONE..FIVE chosen: 1/6 chance on a worm worth 5 points
+        assertEquals(5.0 / 6, BustOdds.expectedGain(1, 0b011111), 1e-9);
+        assertTrue(BustOdds.expectedGain(8, 0) > BustOdds.expectedGain(4, 0));
+    }
+}
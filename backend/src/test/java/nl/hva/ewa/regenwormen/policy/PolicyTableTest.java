@@ -0,0 +1,65 @@
+package nl.hva.ewa.regenwormen.policy;
+
+import nl.hva.ewa.regenwormen.domain.Player;
+import nl.hva.ewa.regenwormen.domain.TilesPot;
+import nl.hva.ewa.regenwormen.domain.dto.HintView;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PolicyTableTest {
+
+    @TempDir
+    static Path dir;
+
+    static PolicyTable table;
+
+    @BeforeAll
+    static void buildTable() {
+        table = new PolicyTable(dir.resolve("policy.bin").toString());
+    }
+
+    @Test
+    void outcomes_coverAllRolls() {
+        for (int dice = 0; dice <= DiceOutcomes.MAX_DICE; dice++) {
+            DiceOutcomes outcomes = DiceOutcomes.of(dice);
+            double total = 0;
+            for (int o = 0; o < outcomes.size(); o++) total += outcomes.probability(o);
+            assertEquals(1.0, total, 1e-9, "dice=" + dice);
+        }
+        assertEquals(1287, DiceOutcomes.of(8).size());
+    }
+
+    @Test
+    void lastDie_needsTheWorm() {
+        // ONE..FIVE taken (7 dice, score 25), one die left: only a worm (1/6) gives 30 -> 3 worms
+        int allButWorm = PolicySolver.ALL_FACES & ~PolicySolver.SPECIAL_BIT;
+        assertEquals(3.0 / 6, table.rollValue(21, allButWorm, 25, 1), 1e-6);
+    }
+
+    @Test
+    void higherTarget_isNeverWorthMore() {
+        for (int target = 22; target <= PolicySolver.MAX_TILE; target++) {
+            assertTrue(table.rollValue(target, 0, 0, 8) <= table.rollValue(target - 1, 0, 0, 8));
+        }
+        assertTrue(table.rollValue(21, 0, 0, 8) > 1);
+    }
+
+    @Test
+    void reloadingTheFile_givesTheSameValues() {
+        PolicyTable again = new PolicyTable(dir.resolve("policy.bin").toString());
+        assertEquals(table.rollValue(25, 0, 0, 8), again.rollValue(25, 0, 0, 8));
+    }
+
+    @Test
+    void hint_beforeTheFirstRoll_isRoll() {
+        Player p = new Player("A");
+        HintView hint = table.hintFor(p, new TilesPot());
+        assertEquals(HintView.Action.ROLL, hint.action());
+        assertEquals(table.rollValue(21, 0, 0, 8), hint.expectedWorms(), 1e-6);
+    }
+}
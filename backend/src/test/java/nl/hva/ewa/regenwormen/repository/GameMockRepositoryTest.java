@@ -0,0 +1,87 @@
+package nl.hva.ewa.regenwormen.repository;
+
+import nl.hva.ewa.regenwormen.domain.Enum.GameState;
+import nl.hva.ewa.regenwormen.domain.Game;
+import nl.hva.ewa.regenwormen.domain.Player;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameMockRepositoryTest {
+
+    private final GameMockRepository repo = new GameMockRepository();
+
+    @Test
+    void stateIndex_followsTheLastSave() {
+        Game game = new Game("Room", 2);
+        Player a = new Player("A");
+        game.addPlayer(a);
+        game.addPlayer(new Player("B"));
+        repo.save(game);
+        assertTrue(repo.findAllPreGames().contains(game));
+
+        game.startGame(1L);
+        // not saved yet: still indexed as a pre-game
+        assertTrue(repo.findAllPreGames().contains(game));
+
+        repo.save(game);
+        assertFalse(repo.findAllPreGames().contains(game));
+        assertEquals(game, repo.findAllByState(GameState.PLAYING).get(0));
+        assertEquals(game, repo.findByPlayerId(a.getId()).orElseThrow());
+    }
+
+    @Test
+    void delete_removesGameFromEveryIndex() {
+        Game game = new Game("Room", 2);
+        Player a = new Player("A");
+        game.addPlayer(a);
+        repo.save(game);
+
+        assertEquals(game, repo.deleteById(game.getId()));
+
+        assertTrue(repo.findById(game.getId()).isEmpty());
+        assertTrue(repo.findByPlayerId(a.getId()).isEmpty());
+        assertFalse(repo.findAllPreGames().contains(game));
+    }
+
+    @Test
+    void playerWhoLeft_isNoLongerIndexedToTheGame() {
+        Game game = new Game("Room", 3);
+        Player a = new Player("A");
+        game.addPlayer(a);
+        game.addPlayer(new Player("B"));
+        repo.save(game);
+
+        game.leavePlayer(a.getId());
+        repo.save(game);
+
+        assertTrue(repo.findByPlayerId(a.getId()).isEmpty());
+    }
+
+    @Test
+    void concurrentSaves_keepIndexesConsistent() throws InterruptedException {
+        // game ids are short and random: skip the odd repeat so every save is a different game
+        Map<String, Game> games = new HashMap<>();
+        while (games.size() < 1_000) {
+            Game game = new Game("Room", 2);
+            if (repo.findById(game.getId()).isEmpty()) games.putIfAbsent(game.getId(), game);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (Game game : games.values()) {
+            pool.execute(() -> repo.save(game));
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        // two rooms are created by the constructor
+        assertEquals(1_002, repo.findAll().size());
+        assertEquals(1_002, repo.findAllPreGames().size());
+    }
+}
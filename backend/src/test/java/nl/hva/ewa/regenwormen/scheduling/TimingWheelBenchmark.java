@@ -0,0 +1,127 @@
+package nl.hva.ewa.regenwormen.scheduling;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+
+/**
+ * Cost of the {@link TimingWheel} against the scheduled thread pool the turn timers used before.
+ * Every operation is what a pick or reroll does: cancel the running turn timer of a random game and
+ * schedule a fresh 15 second one, with {@code games} timers live at any time. Runs with the GC
+ * profiler, so next to throughput it reports bytes allocated per operation and GC counts;
+ * {@link #main} then prints the heap the live timers of {@code games} games retain.
+ * <p>
+ * Not part of the test run; start {@link #main} from the IDE (test classpath).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class TimingWheelBenchmark {
+
+    private static final Runnable NOTHING = () -> {};
+
+    @Param({"1000", "10000", "100000"})
+    int games;
+
+    private TimingWheel wheel;
+    private ScheduledExecutorService executor;
+    private AtomicReferenceArray<Timeout> wheelTimers;
+    private AtomicReferenceArray<ScheduledFuture<?>> executorTimers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        wheel = new TimingWheel(100, TimeUnit.MILLISECONDS, 512, Executors.newVirtualThreadPerTaskExecutor());
+        executor = Executors.newScheduledThreadPool(4);
+        wheelTimers = new AtomicReferenceArray<>(games);
+        executorTimers = new AtomicReferenceArray<>(games);
+        for (int i = 0; i < games; i++) {
+            wheelTimers.set(i, wheel.schedule(NOTHING, 15, TimeUnit.SECONDS));
+            executorTimers.set(i, executor.schedule(NOTHING, 15, TimeUnit.SECONDS));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        wheel.stop();
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public Timeout timingWheel() {
+        int game = ThreadLocalRandom.current().nextInt(games);
+        Timeout timeout = wheel.schedule(NOTHING, 15, TimeUnit.SECONDS);
+        wheelTimers.getAndSet(game, timeout).cancel();
+        return timeout;
+    }
+
+    @Benchmark
+    public ScheduledFuture<?> scheduledThreadPool() {
+        int game = ThreadLocalRandom.current().nextInt(games);
+        ScheduledFuture<?> future = executor.schedule(NOTHING, 15, TimeUnit.SECONDS);
+        executorTimers.getAndSet(game, future).cancel(false);
+        return future;
+    }
+
+    // ---------------------- 🧮 Retained heap ----------------------
+    /** Heap held by {@code games} live 15 second timers, after a full GC */
+    static long retainedBytes(int games, IntFunction<Object> scheduleOne) {
+        Object[] live = new Object[games];
+        long before = usedHeapAfterGc();
+        for (int i = 0; i < games; i++) live[i] = scheduleOne.apply(i);
+        long after = usedHeapAfterGc();
+        // keep the handles reachable until measured
+        if (live[games - 1] == null) throw new IllegalStateException();
+        return after - before;
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TimingWheelBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+
+        for (int games : new int[]{10_000, 100_000}) {
+            TimingWheel wheel = new TimingWheel(100, TimeUnit.MILLISECONDS, 512, Executors.newVirtualThreadPerTaskExecutor());
+            ScheduledExecutorService executor = Executors.newScheduledThreadPool(4);
+            long wheelBytes = retainedBytes(games, i -> wheel.schedule(NOTHING, 15, TimeUnit.SECONDS));
+            long executorBytes = retainedBytes(games, i -> executor.schedule(NOTHING, 15, TimeUnit.SECONDS));
+            System.out.printf("%,d games: timing wheel ~%d bytes/timer, scheduled pool ~%d bytes/timer%n",
+                    games, wheelBytes / games, executorBytes / games);
+            wheel.stop();
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package nl.hva.ewa.regenwormen.scheduling;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    // 5ms ticks on 8 buckets: anything beyond 40ms needs more than one round
+    private final TimingWheel wheel = new TimingWheel(5, TimeUnit.MILLISECONDS, 8, Runnable::run);
+
+    @AfterEach
+    void tearDown() {
+        wheel.stop();
+    }
+
+    @Test
+    void schedule_firesAfterTheDelay_evenAfterSeveralRounds() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        Timeout timeout = wheel.schedule(fired::countDown, 120, TimeUnit.MILLISECONDS);
+
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(elapsedMs >= 120, "fired early after " + elapsedMs + "ms");
+        assertTrue(timeout.isExpired());
+        assertEquals(0, wheel.pendingTimeouts());
+    }
+
+    @Test
+    void cancel_stopsTheTask() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        Timeout timeout = wheel.schedule(runs::incrementAndGet, 30, TimeUnit.MILLISECONDS);
+
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        Thread.sleep(100);
+
+        assertEquals(0, runs.get());
+        assertTrue(timeout.isCancelled());
+        assertEquals(0, wheel.pendingTimeouts());
+    }
+
+    @Test
+    void manyTimeouts_allFireOnce() throws InterruptedException {
+        int count = 10_000;
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(count / 2);
+        int cancelled = 0;
+
+        for (int i = 0; i < count; i++) {
+            Timeout timeout = wheel.schedule(() -> {
+                runs.incrementAndGet();
+                done.countDown();
+            }, i % 100, TimeUnit.MILLISECONDS);
+            // a timeout due right away may already have run
+            if (i % 2 == 1 && timeout.cancel()) cancelled++;
+        }
+
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+        Thread.sleep(150);
+        assertEquals(count - cancelled, runs.get());
+    }
+}
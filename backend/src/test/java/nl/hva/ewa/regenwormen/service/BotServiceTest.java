@@ -0,0 +1,110 @@
+package nl.hva.ewa.regenwormen.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nl.hva.ewa.regenwormen.api.LobbyWebSocketController;
+import nl.hva.ewa.regenwormen.controller.GameWebSocketController;
+import nl.hva.ewa.regenwormen.domain.Enum.GameState;
+import nl.hva.ewa.regenwormen.domain.Game;
+import nl.hva.ewa.regenwormen.domain.Player;
+import nl.hva.ewa.regenwormen.policy.PolicyTable;
+import nl.hva.ewa.regenwormen.repository.GameMockRepository;
+import nl.hva.ewa.regenwormen.repository.GameResultRepository;
+import nl.hva.ewa.regenwormen.repository.LobbyRepository;
+import nl.hva.ewa.regenwormen.repository.PlayerMockRepository;
+import nl.hva.ewa.regenwormen.scheduling.TimingWheel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.support.TransactionOperations;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BotServiceTest {
+
+    @TempDir
+    static Path dir;
+
+    static PolicyTable policy;
+
+    private GameMockRepository gameRepo;
+    private BotService bots;
+    private TimingWheel timers;
+
+    @BeforeAll
+    static void loadPolicy() {
+        policy = new PolicyTable(dir.resolve("policy.bin").toString());
+    }
+
+    @BeforeEach
+    void setUp() {
+        gameRepo = new GameMockRepository();
+        GameMailboxes mailboxes = new GameMailboxes();
+        timers = new TimingWheel(100, TimeUnit.MILLISECONDS, 512, Runnable::run);
+        // the scheduler's bot turns are switched off, the test plays every turn itself
+        BotService scheduled = mock(BotService.class);
+        when(scheduled.playTurn(any(), any())).thenReturn(true);
+
+        InGameService inGame = new InGameService(
+                gameRepo,
+                mock(GameResultRepository.class),
+                new GameGuards(gameRepo, new PlayerMockRepository()),
+                mock(GameWebSocketController.class),
+                new GameEventPublisher(mock(SimpMessagingTemplate.class), gameRepo, new GamePayloadCache(new ObjectMapper())),
+                mock(LobbyRepository.class),
+                mock(LobbyWebSocketController.class),
+                policy,
+                scheduled,
+                mock(WinProbabilityEstimator.class),
+                mailboxes,
+                timers,
+                TransactionOperations.withoutTransaction());
+        bots = new BotService(gameRepo, inGame, policy, mailboxes, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        timers.stop();
+    }
+
+    @Test
+    void fillEmptySeats_addsBotsUntilFull_withUniqueNames() {
+        Game game = new Game("Room", 4);
+        game.addPlayer(new Player("Bot 1"));
+
+        assertEquals(3, bots.fillEmptySeats(game));
+        assertEquals(4, game.playersAmount());
+        assertEquals(3, game.getPlayers().stream().filter(Player::isBot).count());
+        assertEquals(4, game.getPlayers().stream().map(Player::getName).distinct().count());
+    }
+
+    @Test
+    void botsPlayAWholeGame_throughTheNormalCommands() {
+        Game game = bots.startBotGame(3, 7L);
+
+        for (int turn = 0; turn < 500 && game.getGameState() == GameState.PLAYING; turn++) {
+            assertTrue(bots.playTurn(game.getId(), game.getCurrentPlayer()));
+        }
+
+        assertEquals(GameState.ENDED, game.getGameState());
+        assertEquals(0, game.getTilesPot().amountAvailableTiles());
+        assertTrue(game.getVersion() > 1);
+    }
+
+    @Test
+    void botGames_areCapped() {
+        bots.startBotGame(2, null);
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> bots.startBotGame(2, null));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, ex.getStatusCode());
+    }
+}
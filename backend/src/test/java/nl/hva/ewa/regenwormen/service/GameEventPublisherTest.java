@@ -0,0 +1,100 @@
+package nl.hva.ewa.regenwormen.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nl.hva.ewa.regenwormen.domain.Game;
+import nl.hva.ewa.regenwormen.domain.Player;
+import nl.hva.ewa.regenwormen.domain.dto.GameDelta;
+import nl.hva.ewa.regenwormen.domain.dto.GameEvents;
+import nl.hva.ewa.regenwormen.domain.dto.GameEvents.GameEvent;
+import nl.hva.ewa.regenwormen.domain.dto.TurnDeadline;
+import nl.hva.ewa.regenwormen.repository.GameMockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class GameEventPublisherTest {
+
+    private final SimpMessagingTemplate template = mock(SimpMessagingTemplate.class);
+    private final GameMockRepository gameRepo = new GameMockRepository();
+    private final GameEventPublisher events = new GameEventPublisher(template, gameRepo,
+            new GamePayloadCache(new ObjectMapper()));
+    private Game game;
+    private String topic;
+
+    @BeforeEach
+    void setUp() {
+        game = new Game("Room", 2);
+        game.addPlayer(new Player("A"));
+        game.addPlayer(new Player("B"));
+        game.startGame(3L);
+        game.commit();
+        gameRepo.save(game);
+        topic = "/topic/game/" + game.getId();
+
+        events.publishState(game.getId()); // clients have the game
+        verify(template).send(eq(topic), any(Message.class));
+    }
+
+    @Test
+    void command_sendsOneFrame() {
+        events.batch(game.getId(), () -> {
+            game.setNextPlayersTurn();
+            game.commit();
+            events.publishState(game.getId());
+            events.publish(game.getId(), "timer", TurnDeadline.at("B", 1_000L));
+            game.commit();
+            events.publishState(game.getId());
+            events.publish(game.getId(), "message", Map.of("text", "B's turn"));
+        });
+
+        ArgumentCaptor<Object> frame = ArgumentCaptor.forClass(Object.class);
+        verify(template).convertAndSend(eq(topic + "/batch"), frame.capture());
+        verify(template, times(1)).convertAndSend(anyString(), any(Object.class));
+
+        List<GameEvent> sent = ((GameEvents) frame.getValue()).events();
+        assertEquals(List.of("state", "timer", "message"), sent.stream().map(GameEvent::type).toList());
+        GameDelta state = (GameDelta) sent.get(0).body();
+        assertEquals(game.getVersion(), state.seq()); // both commits in one delta
+    }
+
+    @Test
+    void singleEvent_keepsItsOwnTopic() {
+        events.batch(game.getId(), () -> events.publish(game.getId(), "message", Map.of("text", "hi")));
+
+        verify(template).convertAndSend(eq(topic + "/message"), any(Object.class));
+        verify(template, times(1)).convertAndSend(anyString(), any(Object.class));
+    }
+
+    @Test
+    void nestedBatches_joinTheOuterOne() {
+        events.batch(game.getId(), () -> {
+            events.publish(game.getId(), "message", Map.of("text", "one"));
+            events.batch(game.getId(), () -> events.publish(game.getId(), "message", Map.of("text", "two")));
+            verifyNoMoreInteractions(template);
+        });
+
+        verify(template).convertAndSend(eq(topic + "/batch"), any(GameEvents.class));
+    }
+
+    @Test
+    void unchangedState_isLeftOut() {
+        events.batch(game.getId(), () -> {
+            events.publishState(game.getId());
+            events.publish(game.getId(), "message", Map.of("text", "nothing happened"));
+        });
+
+        verify(template).convertAndSend(eq(topic + "/message"), any(Object.class));
+        verify(template, times(1)).send(anyString(), any(Message.class));
+    }
+}
@@ -0,0 +1,80 @@
+package nl.hva.ewa.regenwormen.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameMailboxesTest {
+
+    private final GameMailboxes mailboxes = new GameMailboxes();
+
+    @Test
+    void commandsForOneGame_neverOverlap() throws InterruptedException {
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        List<Integer> counter = new ArrayList<>(List.of(0));
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 2_000; i++) {
+            callers.execute(() -> mailboxes.run("g1", () -> {
+                if (inside.incrementAndGet() > 1) overlaps.incrementAndGet();
+                counter.set(0, counter.get(0) + 1);
+                inside.decrementAndGet();
+            }));
+        }
+        callers.shutdown();
+        assertTrue(callers.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(0, overlaps.get());
+        assertEquals(2_000, counter.get(0));
+    }
+
+    @Test
+    void nestedCallForSameGame_runsInline() {
+        int result = mailboxes.call("g1", () -> mailboxes.call("g1", () -> 42));
+        assertEquals(42, result);
+    }
+
+    @Test
+    void exceptions_areRethrownAsIs() {
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> mailboxes.call("g1", () -> {
+                    throw new IllegalStateException("nope");
+                }));
+        assertEquals("nope", thrown.getMessage());
+        // the mailbox keeps working after a failed command
+        assertEquals("ok", mailboxes.call("g1", () -> "ok"));
+    }
+
+    @Test
+    void closeDuringCommands_neverLeavesTwoMailboxes() throws InterruptedException {
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        AtomicInteger runs = new AtomicInteger();
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 2_000; i++) {
+            int n = i;
+            callers.execute(() -> {
+                if (n % 10 == 0) mailboxes.close("g1");
+                mailboxes.run("g1", () -> {
+                    if (inside.incrementAndGet() > 1) overlaps.incrementAndGet();
+                    runs.incrementAndGet();
+                    inside.decrementAndGet();
+                });
+            });
+        }
+        callers.shutdown();
+        assertTrue(callers.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(0, overlaps.get());
+        assertEquals(2_000, runs.get());
+    }
+}
@@ -0,0 +1,122 @@
+package nl.hva.ewa.regenwormen.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import nl.hva.ewa.regenwormen.domain.Game;
+import nl.hva.ewa.regenwormen.domain.Player;
+import nl.hva.ewa.regenwormen.domain.dto.GameSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GamePayloadCacheTest {
+
+    /** Counts how often a snapshot is really serialized */
+    private static final class CountingMapper extends ObjectMapper {
+        final AtomicInteger writes = new AtomicInteger();
+
+        @Override
+        public byte[] writeValueAsBytes(Object value) throws JsonProcessingException {
+            writes.incrementAndGet();
+            return super.writeValueAsBytes(value);
+        }
+    }
+
+    private final CountingMapper mapper = new CountingMapper();
+    private final GamePayloadCache cache = new GamePayloadCache(mapper);
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        game = new Game("Room", 2);
+        game.addPlayer(new Player("A"));
+        game.addPlayer(new Player("B"));
+        game.commit();
+    }
+
+    @Test
+    void sameVersion_isSerializedOnce() throws Exception {
+        GameSnapshot snapshot = game.getSnapshot();
+
+        byte[] first = cache.json(snapshot);
+        byte[] second = cache.json(snapshot);
+
+        assertSame(first, second);
+        assertEquals(1, mapper.writes.get());
+        assertEquals(snapshot.id(), new ObjectMapper().readTree(first).get("id").asText());
+        assertEquals(snapshot.version(), new ObjectMapper().readTree(first).get("version").asLong());
+    }
+
+    @Test
+    void newVersion_replacesTheBytes() throws Exception {
+        byte[] before = cache.json(game.getSnapshot());
+        game.startGame(3L);
+        GameSnapshot started = game.commit();
+
+        byte[] after = cache.json(started);
+
+        assertNotSame(before, after);
+        assertEquals("PLAYING", new ObjectMapper().readTree(after).get("gameState").asText());
+        assertSame(after, cache.json(started));
+        assertEquals(2, mapper.writes.get());
+    }
+
+    @Test
+    void olderVersion_doesNotEvictTheNewer() {
+        GameSnapshot old = game.getSnapshot();
+        GameSnapshot newer = game.commit();
+        byte[] cached = cache.json(newer);
+
+        cache.json(old);
+
+        assertSame(cached, cache.json(newer));
+        assertEquals(2, mapper.writes.get());
+    }
+
+    @Test
+    void reconnectBurst_serializesOnce() throws Exception {
+        GameSnapshot snapshot = game.getSnapshot();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<byte[]>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) results.add(pool.submit(() -> cache.json(snapshot)));
+            byte[] first = results.get(0).get();
+            for (Future<byte[]> result : results) assertSame(first, result.get());
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, mapper.writes.get());
+    }
+
+    @Test
+    void cbor_isCachedNextToTheJson() throws Exception {
+        game.startGame(3L);
+        GameSnapshot snapshot = game.commit();
+
+        byte[] json = cache.json(snapshot);
+        byte[] cbor = cache.cbor(snapshot);
+
+        assertSame(cbor, cache.cbor(snapshot));
+        assertEquals(new ObjectMapper().readTree(json), new CBORMapper().readTree(cbor));
+        assertTrue(cbor.length < json.length, "cbor " + cbor.length + " bytes vs json " + json.length + " bytes");
+    }
+
+    @Test
+    void forget_dropsTheGame() {
+        GameSnapshot snapshot = game.getSnapshot();
+        cache.json(snapshot);
+        cache.forget(snapshot.id());
+        cache.json(snapshot);
+
+        assertEquals(2, mapper.writes.get());
+    }
+}
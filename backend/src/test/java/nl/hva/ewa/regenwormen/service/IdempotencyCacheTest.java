@@ -0,0 +1,138 @@
+package nl.hva.ewa.regenwormen.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final IdempotencyCache cache = new IdempotencyCache(1000, 3, now::get);
+    private final AtomicInteger runs = new AtomicInteger();
+
+    private String command() {
+        return "result " + runs.incrementAndGet();
+    }
+
+    @Test
+    void replay_returnsTheOriginalResult_withoutRunningAgain() {
+        String first = cache.execute("g1", "k1", "reroll/alice", this::command);
+        String replay = cache.execute("g1", "k1", "reroll/alice", this::command);
+
+        assertEquals("result 1", first);
+        assertEquals(first, replay);
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void withoutKey_everyRequestRuns() {
+        cache.execute("g1", null, "reroll/alice", this::command);
+        cache.execute("g1", " ", "reroll/alice", this::command);
+
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void keysArePerGame() {
+        cache.execute("g1", "k1", "reroll/alice", this::command);
+        cache.execute("g2", "k1", "reroll/alice", this::command);
+
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void concurrentDuplicates_runTheCommandOnce() throws Exception {
+        int clients = 8;
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(pool.submit(() -> cache.execute("g1", "k1", "pickdice/alice/FIVE", () -> {
+                running.countDown();
+                await(release);
+                return command();
+            })));
+            assertTrue(running.await(2, TimeUnit.SECONDS));
+            for (int i = 1; i < clients; i++) {
+                results.add(pool.submit(() -> cache.execute("g1", "k1", "pickdice/alice/FIVE", this::command)));
+            }
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("result 1", result.get(2, TimeUnit.SECONDS));
+            }
+            assertEquals(1, runs.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void keyReusedForAnotherRequest_is422() {
+        cache.execute("g1", "k1", "pickdice/alice/FIVE", this::command);
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> cache.execute("g1", "k1", "pickdice/alice/SIX", this::command));
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, ex.getStatusCode());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void failedCommand_isNotKept() {
+        assertThrows(ResponseStatusException.class, () -> cache.execute("g1", "k1", "reroll/alice", () -> {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Not your turn");
+        }));
+
+        assertEquals("result 1", cache.execute("g1", "k1", "reroll/alice", this::command));
+    }
+
+    @Test
+    void expiredKey_runsAgain() {
+        cache.execute("g1", "k1", "reroll/alice", this::command);
+
+        now.addAndGet(999);
+        assertEquals("result 1", cache.execute("g1", "k1", "reroll/alice", this::command));
+        now.addAndGet(1);
+        assertEquals("result 2", cache.execute("g1", "k1", "reroll/alice", this::command));
+    }
+
+    @Test
+    void fullCache_dropsTheOldestKey() {
+        for (String key : List.of("k1", "k2", "k3", "k4")) {
+            cache.execute("g1", key, "reroll/alice", this::command);
+        }
+
+        assertEquals("result 4", cache.execute("g1", "k4", "reroll/alice", this::command));
+        assertEquals("result 2", cache.execute("g1", "k2", "reroll/alice", this::command));
+        assertEquals("result 5", cache.execute("g1", "k1", "reroll/alice", this::command));
+    }
+
+    @Test
+    void forget_dropsAllKeysOfTheGame() {
+        cache.execute("g1", "k1", "reroll/alice", this::command);
+        cache.forget("g1");
+
+        assertEquals("result 2", cache.execute("g1", "k1", "reroll/alice", this::command));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package nl.hva.ewa.regenwormen.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nl.hva.ewa.regenwormen.api.LobbyWebSocketController;
+import nl.hva.ewa.regenwormen.controller.GameWebSocketController;
+import nl.hva.ewa.regenwormen.domain.Diceroll;
+import nl.hva.ewa.regenwormen.domain.Enum.DiceFace;
+import nl.hva.ewa.regenwormen.domain.Game;
+import nl.hva.ewa.regenwormen.domain.Player;
+import nl.hva.ewa.regenwormen.domain.dto.TurnView;
+import nl.hva.ewa.regenwormen.policy.BustOdds;
+import nl.hva.ewa.regenwormen.policy.PolicyTable;
+import nl.hva.ewa.regenwormen.repository.GameMockRepository;
+import nl.hva.ewa.regenwormen.repository.GameResultRepository;
+import nl.hva.ewa.regenwormen.repository.LobbyRepository;
+import nl.hva.ewa.regenwormen.repository.PlayerMockRepository;
+import nl.hva.ewa.regenwormen.scheduling.TimingWheel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class InGameServiceTest {
+
+    private GameMockRepository gameRepo;
+    private TimingWheel timers;
+    private InGameService inGame;
+    private BotService bots;
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        gameRepo = new GameMockRepository();
+        timers = new TimingWheel(100, TimeUnit.MILLISECONDS, 512, Runnable::run);
+        bots = mock(BotService.class);
+        inGame = new InGameService(
+                gameRepo,
+                mock(GameResultRepository.class),
+                new GameGuards(gameRepo, new PlayerMockRepository()),
+                mock(GameWebSocketController.class),
+                new GameEventPublisher(mock(SimpMessagingTemplate.class), gameRepo, new GamePayloadCache(new ObjectMapper())),
+                mock(LobbyRepository.class),
+                mock(LobbyWebSocketController.class),
+                mock(PolicyTable.class),
+                bots,
+                mock(WinProbabilityEstimator.class),
+                new GameMailboxes(),
+                timers,
+                TransactionOperations.withoutTransaction());
+
+        game = new Game("Room", 2);
+        game.addPlayer(new Player("A"));
+        game.addPlayer(new Player("B"));
+        game.startGame(3L);
+        game.commit();
+        gameRepo.save(game);
+    }
+
+    @AfterEach
+    void tearDown() {
+        timers.stop();
+    }
+
+    @Test
+    void commandForTheCurrentVersion_runsAndBumpsTheVersion() {
+        long version = game.getVersion();
+        String current = game.getCurrentPlayer().getName();
+
+        inGame.startAndRollRound(game.getId(), current, version);
+
+        assertEquals(version + 1, game.getVersion());
+    }
+
+    @Test
+    void doubleSentCommand_secondIsRejectedWith409_beforeAnythingChanges() {
+        long version = game.getVersion();
+        String current = game.getCurrentPlayer().getName();
+        inGame.startAndRollRound(game.getId(), current, version);
+        var rollAfterFirst = game.getCurrentPlayer().getDiceRoll();
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> inGame.startAndRollRound(game.getId(), current, version));
+
+        assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+        assertEquals(version + 1, game.getVersion());
+        assertSame(rollAfterFirst, game.getCurrentPlayer().getDiceRoll());
+    }
+
+    @Test
+    void commandWithoutVersion_isUnconditional() {
+        String current = game.getCurrentPlayer().getName();
+        assertDoesNotThrow(() -> inGame.startAndRollRound(game.getId(), current, null));
+    }
+
+    @Test
+    void pickedFace_getsTheOddsOfRollingAgain() {
+        String current = game.getCurrentPlayer().getName();
+        TurnView rolled = inGame.startAndRollRound(game.getId(), current, null);
+        assertFalse(rolled.busted());
+        assertEquals(0, rolled.bustProbability()); // a pick is pending: no reroll to judge yet
+
+        DiceFace face = rolled.optionCounts().keySet().iterator().next();
+        TurnView picked = inGame.pickDiceFace(game.getId(), current, face, null);
+
+        Diceroll roll = game.getCurrentPlayer().getDiceRoll();
+        assertEquals(BustOdds.bustProbability(roll.getRemainingDiceCount(), roll.chosenMask()), picked.bustProbability());
+        assertEquals(BustOdds.expectedGain(roll.getRemainingDiceCount(), roll.chosenMask()), picked.expectedGain());
+    }
+
+    @Test
+    void currentPlayerLeaves_nextBotPlaysItsTurn() {
+        Game withBot = new Game("Bots", 3);
+        withBot.addPlayer(new Player("A"));
+        Player bot = Player.bot("Bot");
+        withBot.addPlayer(bot);
+        withBot.addPlayer(new Player("C"));
+        withBot.startGame(3L);
+        withBot.commit();
+        gameRepo.save(withBot);
+        when(bots.playTurn(withBot.getId(), bot)).thenReturn(true);
+
+        inGame.leaveGame(withBot.getId(), "A");
+
+        assertSame(bot, withBot.getCurrentPlayer());
+        verify(bots, timeout(1000)).playTurn(withBot.getId(), bot);
+    }
+}
@@ -0,0 +1,167 @@
+package nl.hva.ewa.regenwormen.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nl.hva.ewa.regenwormen.controller.GameWebSocketController;
+import nl.hva.ewa.regenwormen.domain.Game;
+import nl.hva.ewa.regenwormen.domain.Player;
+import nl.hva.ewa.regenwormen.repository.GameMockRepository;
+import nl.hva.ewa.regenwormen.scheduling.TimingWheel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PresenceServiceTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final GameMailboxes mailboxes = new GameMailboxes();
+    private final TimingWheel timers = new TimingWheel(100, TimeUnit.MILLISECONDS, 512, Runnable::run);
+    private final GameWebSocketController ws = mock(GameWebSocketController.class);
+    private final InGameService inGame = mock(InGameService.class);
+
+    private GameMockRepository gameRepo;
+    private PresenceService presence;
+    private Game game;
+    private Player alice;
+
+    @BeforeEach
+    void setUp() {
+        gameRepo = new GameMockRepository();
+        // 15s without heartbeat = disconnected, then 60s to come back; the test drives the sweeps
+        GameEventPublisher events = new GameEventPublisher(mock(SimpMessagingTemplate.class), gameRepo, new GamePayloadCache(new ObjectMapper()));
+        presence = new PresenceService(gameRepo, mailboxes, timers, ws, events, inGame,
+                15_000, 60_000, 1000, now::get);
+
+        game = new Game("Room", 2);
+        alice = new Player("alice", "user-1");
+        game.addPlayer(alice);
+        game.addPlayer(new Player("bob"));
+        gameRepo.save(game);
+    }
+
+    @AfterEach
+    void tearDown() {
+        timers.stop();
+    }
+
+    /** Waits until the status updates posted to the game's mailbox ran */
+    private void drain() {
+        mailboxes.call(game.getId(), () -> null);
+    }
+
+    @Test
+    void heartbeats_keepThePlayerConnected() {
+        presence.seen(game.getId(), "user-1");
+        for (int i = 0; i < 10; i++) {
+            now.addAndGet(5_000);
+            presence.seen(game.getId(), alice.getId());
+            presence.sweep();
+        }
+        drain();
+
+        assertEquals(Player.PlayerStatus.CONNECTED, alice.getStatus());
+        assertEquals(1, presence.tracked());
+        verify(ws, never()).broadcastDisconnectCountdown(any(), any(), anyInt());
+    }
+
+    @Test
+    void silentPlayer_isMarkedDisconnected_andCountedDown() {
+        presence.seen(game.getId(), "alice");
+        now.addAndGet(15_000);
+        presence.sweep();
+        drain();
+
+        assertEquals(Player.PlayerStatus.DISCONNECTED, alice.getStatus());
+        verify(ws).broadcastDisconnectCountdown(game.getId(), "alice", 60);
+        verify(ws).broadcastGameUpdate(game.getId());
+
+        now.addAndGet(1_000);
+        presence.sweep();
+        verify(ws).broadcastDisconnectCountdown(game.getId(), "alice", 59);
+    }
+
+    @Test
+    void heartbeatWithinGrace_reconnects() {
+        presence.disconnected(game.getId(), "alice");
+        drain();
+        assertEquals(Player.PlayerStatus.DISCONNECTED, alice.getStatus());
+
+        now.addAndGet(30_000);
+        presence.seen(game.getId(), "alice");
+        drain();
+
+        assertEquals(Player.PlayerStatus.CONNECTED, alice.getStatus());
+        verify(ws).broadcastDisconnectCountdown(game.getId(), "alice", 0);
+    }
+
+    @Test
+    void graceOver_freesTheLobbySeat() {
+        presence.disconnected(game.getId(), "alice");
+        now.addAndGet(60_000);
+        presence.sweep();
+        drain();
+
+        assertNull(game.findPlayerById(alice.getId()));
+        assertEquals(0, presence.tracked());
+    }
+
+    @Test
+    void graceOver_inRunningGame_leavesTheGame() {
+        game.startGame(3L);
+        presence.disconnected(game.getId(), "alice");
+        now.addAndGet(60_000);
+        presence.sweep();
+        drain();
+
+        verify(inGame).leaveGame(game.getId(), "alice");
+    }
+
+    @Test
+    void heartbeatAfterTheSweep_keepsThePlayer() {
+        presence.disconnected(game.getId(), "alice");
+        drain();
+        CountDownLatch busy = new CountDownLatch(1);
+        mailboxes.post(game.getId(), () -> {
+            try {
+                busy.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        now.addAndGet(60_000);
+        presence.sweep();                        // removal queued behind the busy task
+        presence.seen(game.getId(), "alice");    // ...and alice is back before it runs
+        busy.countDown();
+        drain();
+
+        assertSame(alice, game.findPlayerById(alice.getId()));
+        assertEquals(Player.PlayerStatus.CONNECTED, alice.getStatus());
+        assertEquals(1, presence.tracked());
+    }
+
+    @Test
+    void unknownGameOrPlayer_isIgnored() {
+        presence.seen("nope", "alice");
+        presence.seen(game.getId(), "mallory");
+        presence.disconnected(null, "alice");
+
+        assertEquals(0, presence.tracked());
+    }
+
+    @Test
+    void forget_dropsTheGame() {
+        presence.seen(game.getId(), "alice");
+        presence.seen(game.getId(), "bob");
+        presence.forget(game.getId());
+
+        assertEquals(0, presence.tracked());
+    }
+}
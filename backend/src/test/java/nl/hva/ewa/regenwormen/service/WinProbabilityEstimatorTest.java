@@ -0,0 +1,85 @@
+package nl.hva.ewa.regenwormen.service;
+
+import nl.hva.ewa.regenwormen.controller.GameWebSocketController;
+import nl.hva.ewa.regenwormen.domain.Game;
+import nl.hva.ewa.regenwormen.domain.Player;
+import nl.hva.ewa.regenwormen.domain.TilesPot;
+import nl.hva.ewa.regenwormen.domain.dto.GameSnapshot;
+import nl.hva.ewa.regenwormen.domain.dto.OddsView;
+import nl.hva.ewa.regenwormen.policy.PolicyTable;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class WinProbabilityEstimatorTest {
+
+    @TempDir
+    static Path dir;
+
+    static PolicyTable policy;
+
+    private GameWebSocketController ws;
+    private WinProbabilityEstimator estimator;
+
+    @BeforeAll
+    static void loadPolicy() {
+        policy = new PolicyTable(dir.resolve("policy.bin").toString());
+    }
+
+    @BeforeEach
+    void setUp() {
+        ws = mock(GameWebSocketController.class);
+        estimator = new WinProbabilityEstimator(ws, policy, 5_000, 2_000);
+    }
+
+    /** A and B, where A owns every tile except 21 */
+    private Game almostFinishedGame() {
+        Game game = new Game("Odds", 2);
+        Player a = new Player("A");
+        game.addPlayer(a);
+        game.addPlayer(new Player("B"));
+        game.startGame(1L);
+        TilesPot pot = game.getTilesPot();
+        for (int value = 22; value <= 36; value++) a.addTile(pot.findExactTile(value));
+        game.commit();
+        return game;
+    }
+
+    @Test
+    void leaderWithAlmostAllTiles_isFavourite() {
+        OddsView odds = estimator.estimate(almostFinishedGame().getSnapshot());
+
+        assertEquals(2_000, odds.rollouts(), 32);
+        double total = odds.players().get(0).winProbability() + odds.players().get(1).winProbability();
+        assertEquals(1.0, total, 1e-9);
+        assertTrue(odds.players().get(0).winProbability() > 0.9);
+    }
+
+    @Test
+    void onlyTheNewestVersionIsPublished() {
+        // a full pot, so an estimate takes long enough to be overtaken
+        Game game = new Game("Odds", 2);
+        game.addPlayer(new Player("A"));
+        game.addPlayer(new Player("B"));
+        game.startGame(1L);
+        GameSnapshot older = game.commit();
+        GameSnapshot newer = game.commit();
+
+        estimator.estimateAsync(older);
+        estimator.estimateAsync(newer);
+
+        ArgumentCaptor<OddsView> published = ArgumentCaptor.forClass(OddsView.class);
+        verify(ws, timeout(5_000)).broadcastOdds(eq(game.getId()), published.capture());
+        verify(ws, after(200).times(1)).broadcastOdds(any(), any());
+        assertEquals(newer.version(), published.getValue().version());
+    }
+}
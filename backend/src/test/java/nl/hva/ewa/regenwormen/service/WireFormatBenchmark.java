@@ -0,0 +1,112 @@
+package nl.hva.ewa.regenwormen.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import nl.hva.ewa.regenwormen.domain.Diceroll;
+import nl.hva.ewa.regenwormen.domain.Game;
+import nl.hva.ewa.regenwormen.domain.Player;
+import nl.hva.ewa.regenwormen.domain.Tile;
+import nl.hva.ewa.regenwormen.domain.dto.GameDelta;
+import nl.hva.ewa.regenwormen.domain.dto.GameSnapshot;
+import nl.hva.ewa.regenwormen.domain.dto.TurnView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON against CBOR for what the game sends: the full snapshot of a six-player game halfway through,
+ * the delta of one claimed tile and the answer to a roll. The score is the encode time; {@link #main}
+ * prints the sizes first.
+ * <p>
+ * Not part of the test run; start {@link #main} from the IDE (test classpath).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WireFormatBenchmark {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final ObjectMapper CBOR = new CBORMapper();
+
+    @Param({"snapshot", "delta", "turn"})
+    String payload;
+
+    @Param({"json", "cbor"})
+    String format;
+
+    private Object value;
+    private ObjectMapper mapper;
+
+    @Setup
+    public void setUp() {
+        value = payload(payload);
+        mapper = "cbor".equals(format) ? CBOR : JSON;
+    }
+
+    @Benchmark
+    public byte[] encode() throws Exception {
+        return mapper.writeValueAsBytes(value);
+    }
+
+    private static Object payload(String name) {
+        Game game = new Game("Room", 6);
+        for (String player : List.of("A", "B", "C", "D", "E", "F")) game.addPlayer(new Player(player));
+        game.startGame(3L);
+        game.commit();
+        for (int i = 0; i < 8; i++) claimLowestTile(game);
+
+        return switch (name) {
+            case "snapshot" -> game.getSnapshot();
+            case "delta" -> {
+                GameSnapshot before = game.getSnapshot();
+                yield GameDelta.between(before, claimLowestTile(game));
+            }
+            case "turn" -> {
+                Player player = game.getCurrentPlayer();
+                player.setStartTurn(new Diceroll());
+                player.getDiceRoll().rollRemainingDice();
+                yield TurnView.turnViewThrown(player, List.of(), false);
+            }
+            default -> throw new IllegalArgumentException(name);
+        };
+    }
+
+    private static GameSnapshot claimLowestTile(Game game) {
+        Tile tile = game.getTilesPot().getTiles().stream().filter(Tile::isAvailableInPot).findFirst().orElseThrow();
+        game.getCurrentPlayer().addTile(tile);
+        game.setNextPlayersTurn();
+        return game.commit();
+    }
+
+    public static void main(String[] args) throws Exception {
+        for (String name : List.of("snapshot", "delta", "turn")) {
+            Object value = payload(name);
+            System.out.printf("%-8s json %5d bytes, cbor %5d bytes%n",
+                    name, JSON.writeValueAsBytes(value).length, CBOR.writeValueAsBytes(value).length);
+        }
+        run();
+    }
+
+    private static void run() throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(WireFormatBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
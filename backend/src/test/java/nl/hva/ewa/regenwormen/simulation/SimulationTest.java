@@ -0,0 +1,56 @@
+package nl.hva.ewa.regenwormen.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationTest {
+
+    private final List<Strategy> lineup = Strategies.byNames("cautious,threshold:28,random");
+
+    @Test
+    void everyGameHasOneWinner_andEndsWithAnEmptyPot() {
+        SimulationStats stats = new SimulationStats(List.of("cautious", "threshold:28", "random"));
+        SimulatedGame game = new SimulatedGame(lineup, new SplittableRandom(1));
+
+        for (int i = 0; i < 500; i++) {
+            game.play(i % lineup.size(), stats);
+            assertEquals(0, game.tilesPot().amountAvailableTiles());
+        }
+
+        assertEquals(500, stats.getGames());
+        assertEquals(500, stats.getWins(0) + stats.getWins(1) + stats.getWins(2));
+        assertEquals(0, stats.getUnfinished());
+        assertTrue(stats.averageTurns() > 0);
+        assertTrue(stats.bustRate() > 0 && stats.bustRate() < 1);
+    }
+
+    @Test
+    void sameSeed_givesSameResult_regardlessOfThreads() {
+        long games = 3 * Simulation.GAMES_PER_LEAF / 2;
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool many = new ForkJoinPool(4);
+        try {
+            SimulationStats a = Simulation.run(lineup, games, 42, single);
+            SimulationStats b = Simulation.run(lineup, games, 42, many);
+
+            assertEquals(games, a.getGames());
+            assertEquals(a.getTurns(), b.getTurns());
+            assertEquals(a.getBusts(), b.getBusts());
+            for (int i = 0; i < lineup.size(); i++) assertEquals(a.getWins(i), b.getWins(i));
+        } finally {
+            single.shutdown();
+            many.shutdown();
+        }
+    }
+
+    @Test
+    void byName_rejectsUnknownStrategies() {
+        assertEquals("threshold:30", Strategies.byName(" threshold:30 ").name());
+        assertThrows(IllegalArgumentException.class, () -> Strategies.byName("yolo"));
+    }
+}